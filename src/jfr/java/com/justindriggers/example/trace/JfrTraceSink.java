@@ -0,0 +1,151 @@
+package com.justindriggers.example.trace;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+// Emits every span and instant as a live Java Flight Recorder event, so renderer stages line up with the GC, JIT and
+// allocation events of an active recording (e.g. one started with -XX:StartFlightRecording)
+class JfrTraceSink implements TraceSink {
+
+    private final ThreadLocal<Deque<OpenSpan>> openSpans = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public void begin(final TraceEventType type) {
+        final RendererEvent event = createEvent(type);
+        event.begin();
+
+        openSpans.get().push(new OpenSpan(type, event));
+    }
+
+    @Override
+    public void end(final TraceEventType type, final int firstArgument, final int secondArgument) {
+        final Deque<OpenSpan> spans = openSpans.get();
+
+        // Spans abandoned by an exception never end, so they're dropped rather than committed in place of this one
+        OpenSpan span;
+
+        do {
+            span = spans.poll();
+        } while (span != null && span.type != type);
+
+        if (span != null) {
+            span.event.setArguments(type, firstArgument, secondArgument);
+            span.event.commit();
+        }
+    }
+
+    @Override
+    public void instant(final TraceEventType type, final int firstArgument, final int secondArgument) {
+        final RendererEvent event = createEvent(type);
+        event.begin();
+        event.setArguments(type, firstArgument, secondArgument);
+        event.commit();
+    }
+
+    private static RendererEvent createEvent(final TraceEventType type) {
+        final RendererEvent result;
+
+        switch (type) {
+            case SWAPCHAIN_REFRESH:
+            case RESIZE:
+                result = new SwapchainEvent();
+                break;
+            case OUT_OF_DATE:
+            case SUBOPTIMAL:
+                result = new SwapchainErrorEvent();
+                break;
+            default:
+                result = new FrameStageEvent();
+                break;
+        }
+
+        return result;
+    }
+
+    private static class OpenSpan {
+
+        private final TraceEventType type;
+        private final RendererEvent event;
+
+        OpenSpan(final TraceEventType type, final RendererEvent event) {
+            this.type = type;
+            this.event = event;
+        }
+    }
+
+    @Category("Renderer")
+    @StackTrace(false)
+    abstract static class RendererEvent extends Event {
+
+        abstract void setArguments(final TraceEventType type, final int firstArgument, final int secondArgument);
+    }
+
+    @Name("com.justindriggers.example.FrameStage")
+    @Label("Frame Stage")
+    static class FrameStageEvent extends RendererEvent {
+
+        @Label("Stage")
+        String stage;
+
+        @Label("Frame Slot")
+        int frameSlot;
+
+        @Label("Image Index")
+        int imageIndex;
+
+        @Override
+        void setArguments(final TraceEventType type, final int firstArgument, final int secondArgument) {
+            stage = type.getEventName();
+            frameSlot = firstArgument;
+            imageIndex = secondArgument;
+        }
+    }
+
+    @Name("com.justindriggers.example.Swapchain")
+    @Label("Swapchain")
+    static class SwapchainEvent extends RendererEvent {
+
+        @Label("Kind")
+        String kind;
+
+        @Label("Width")
+        int width;
+
+        @Label("Height")
+        int height;
+
+        @Override
+        void setArguments(final TraceEventType type, final int firstArgument, final int secondArgument) {
+            kind = type.getEventName();
+            width = firstArgument;
+            height = secondArgument;
+        }
+    }
+
+    @Name("com.justindriggers.example.SwapchainError")
+    @Label("Swapchain Error")
+    static class SwapchainErrorEvent extends RendererEvent {
+
+        @Label("Result")
+        String result;
+
+        @Label("Frame Slot")
+        int frameSlot;
+
+        @Label("Stage")
+        String stage;
+
+        @Override
+        void setArguments(final TraceEventType type, final int firstArgument, final int secondArgument) {
+            result = type.getEventName();
+            frameSlot = firstArgument;
+            stage = TraceEventType.fromOrdinal(secondArgument).getEventName();
+        }
+    }
+}
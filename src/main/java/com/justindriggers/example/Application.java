@@ -1,8 +1,21 @@
 package com.justindriggers.example;
 
+import com.justindriggers.example.config.DebugConfiguration;
+import com.justindriggers.example.renderer.offline.FrameConsumer;
+import com.justindriggers.example.renderer.offline.OfflineRenderer;
+import com.justindriggers.example.renderer.offline.PpmFrameWriter;
+import com.justindriggers.example.trace.ChromeTraceExporter;
+import com.justindriggers.example.trace.TraceExporter;
+import com.justindriggers.example.trace.Tracer;
 import com.justindriggers.example.window.GLFWWindow;
 import com.justindriggers.example.window.Window;
+import com.justindriggers.vulkan.instance.DebugLogger;
+import com.justindriggers.vulkan.instance.VulkanInstance;
+import com.justindriggers.vulkan.instance.models.ApplicationInfo;
+import com.justindriggers.vulkan.instance.models.VulkanVersion;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -10,12 +23,76 @@ public class Application {
 
     private static final Logger LOGGER = Logger.getLogger(Application.class.getName());
 
+    private static final String OFFLINE_ARGUMENT = "--offline";
+    private static final int DEFAULT_OFFLINE_FRAME_COUNT = 1000;
+
     @SuppressWarnings("squid:S1181")
     public static void main(final String[] args) {
-        try (final Window window = new GLFWWindow()) {
-            LOGGER.log(Level.INFO, () -> String.format("Window %d created", window.getHandle()));
+        try {
+            if (args.length > 0 && OFFLINE_ARGUMENT.equals(args[0])) {
+                renderOffline(args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_OFFLINE_FRAME_COUNT);
+            } else {
+                try (final Window window = new GLFWWindow()) {
+                    LOGGER.log(Level.INFO, () -> String.format("Window %d created", window.getHandle()));
+                }
+            }
         } catch (final Throwable t) {
             LOGGER.log(Level.SEVERE, "An fatal error occurred", t);
+        } finally {
+            // Streamed events have already reached their recording, so only buffered ones need exporting
+            if (Tracer.ENABLED && !Tracer.isStreaming()) {
+                exportTrace();
+            }
+        }
+    }
+
+    // Renders without a window or surface and logs the throughput. Frames are only written to disk when an output
+    // directory is given, in which case the throughput includes writing them.
+    private static void renderOffline(final int frameCount) throws IOException {
+        final int width = Integer.getInteger("example.offline.width", 800);
+        final int height = Integer.getInteger("example.offline.height", 600);
+        final int framesPerBatch = Integer.getInteger("example.offline.batch", 8);
+        final String outputDirectory = System.getProperty("example.offline.output");
+
+        final FrameConsumer frameConsumer = outputDirectory != null
+                ? new PpmFrameWriter(Paths.get(outputDirectory), width, height)
+                : (frameNumber, pixels) -> { };
+
+        final DebugConfiguration debugConfiguration = DebugConfiguration.fromSystemProperties();
+
+        final ApplicationInfo applicationInfo = new ApplicationInfo(
+                "vulkan-java-api-example", 1,
+                null, 0,
+                new VulkanVersion(1, 1, 0)
+        );
+
+        // Nothing is presented, so no surface extensions are needed
+        final VulkanInstance vulkanInstance = new VulkanInstance(applicationInfo,
+                debugConfiguration.getInstanceExtensions(), debugConfiguration.getValidationLayers());
+
+        try {
+            if (debugConfiguration.isDebugMessengerEnabled()) {
+                vulkanInstance.enableDebugging(debugConfiguration.getMessageSeverities(),
+                        debugConfiguration.getMessageTypes(), new DebugLogger());
+            }
+
+            try (final OfflineRenderer renderer = new OfflineRenderer(vulkanInstance, width, height,
+                    framesPerBatch)) {
+                renderer.render(frameCount, frameConsumer);
+            }
+        } finally {
+            vulkanInstance.close();
+        }
+    }
+
+    private static void exportTrace() {
+        final TraceExporter exporter = new ChromeTraceExporter(
+                Paths.get(System.getProperty("example.trace.output", "trace.json")));
+
+        try {
+            exporter.export(Tracer.snapshot());
+        } catch (final IOException e) {
+            LOGGER.log(Level.WARNING, "Unable to export trace", e);
         }
     }
 }
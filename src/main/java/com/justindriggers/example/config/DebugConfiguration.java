@@ -0,0 +1,104 @@
+package com.justindriggers.example.config;
+
+import com.justindriggers.vulkan.instance.models.MessageSeverity;
+import com.justindriggers.vulkan.instance.models.MessageType;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.lwjgl.vulkan.EXTDebugUtils.VK_EXT_DEBUG_UTILS_EXTENSION_NAME;
+
+public class DebugConfiguration {
+
+    private static final String VALIDATION_LAYER = "VK_LAYER_LUNARG_standard_validation";
+
+    // Validation and debug messaging slow down instance creation and every API call, so both are opt-in
+    private static final DebugConfiguration RELEASE = new DebugConfiguration(false,
+            EnumSet.noneOf(MessageSeverity.class), EnumSet.noneOf(MessageType.class));
+
+    private final boolean isValidationEnabled;
+    private final Set<MessageSeverity> messageSeverities;
+    private final Set<MessageType> messageTypes;
+
+    public DebugConfiguration(final boolean isValidationEnabled,
+                              final Set<MessageSeverity> messageSeverities,
+                              final Set<MessageType> messageTypes) {
+        this.isValidationEnabled = isValidationEnabled;
+        this.messageSeverities = Collections.unmodifiableSet(messageSeverities);
+        this.messageTypes = Collections.unmodifiableSet(messageTypes);
+    }
+
+    // -Dexample.debug=true turns on validation with warnings and errors reported for every message type; the
+    // individual example.debug.* properties override each part
+    public static DebugConfiguration fromSystemProperties() {
+        final boolean isDebug = Boolean.getBoolean("example.debug");
+
+        final boolean isValidationEnabled = Boolean.parseBoolean(
+                System.getProperty("example.debug.validation", Boolean.toString(isDebug)));
+
+        final Set<MessageSeverity> messageSeverities = parse(MessageSeverity.class, "example.debug.severities",
+                isDebug ? "WARNING,ERROR" : "");
+
+        final Set<MessageType> messageTypes = parse(MessageType.class, "example.debug.types",
+                isDebug ? "GENERAL,VALIDATION,PERFORMANCE" : "");
+
+        final DebugConfiguration result;
+
+        if (!isValidationEnabled && (messageSeverities.isEmpty() || messageTypes.isEmpty())) {
+            result = RELEASE;
+        } else {
+            result = new DebugConfiguration(isValidationEnabled, messageSeverities, messageTypes);
+        }
+
+        return result;
+    }
+
+    public boolean isValidationEnabled() {
+        return isValidationEnabled;
+    }
+
+    public boolean isDebugMessengerEnabled() {
+        return !messageSeverities.isEmpty() && !messageTypes.isEmpty();
+    }
+
+    public Set<MessageSeverity> getMessageSeverities() {
+        return messageSeverities;
+    }
+
+    public Set<MessageType> getMessageTypes() {
+        return messageTypes;
+    }
+
+    public Set<String> getValidationLayers() {
+        return isValidationEnabled ? Collections.singleton(VALIDATION_LAYER) : Collections.emptySet();
+    }
+
+    public Set<String> getInstanceExtensions() {
+        return isDebugMessengerEnabled()
+                ? Collections.singleton(VK_EXT_DEBUG_UTILS_EXTENSION_NAME)
+                : Collections.emptySet();
+    }
+
+    private static <E extends Enum<E>> Set<E> parse(final Class<E> type, final String property,
+                                                    final String defaultValue) {
+        return Arrays.stream(System.getProperty(property, defaultValue).split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .map(name -> valueOf(type, property, name))
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(type)));
+    }
+
+    // Enum.valueOf alone would only name the constant, leaving no hint of which property held the typo
+    private static <E extends Enum<E>> E valueOf(final Class<E> type, final String property, final String name) {
+        try {
+            return Enum.valueOf(type, name.toUpperCase(Locale.ROOT));
+        } catch (final IllegalArgumentException e) {
+            throw new IllegalArgumentException(String.format("Unknown value '%s' for -D%s, expected one of %s",
+                    name, property, Arrays.toString(type.getEnumConstants())), e);
+        }
+    }
+}
@@ -7,4 +7,6 @@ public interface Renderer extends Closeable {
     void renderFrame();
 
     void refresh();
+
+    void resize(final int width, final int height);
 }
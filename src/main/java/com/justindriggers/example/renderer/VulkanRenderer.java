@@ -1,29 +1,60 @@
 package com.justindriggers.example.renderer;
 
+import com.justindriggers.example.renderer.compute.ComputeWorkload;
+import com.justindriggers.example.renderer.descriptor.DescriptorPool;
+import com.justindriggers.example.renderer.descriptor.DescriptorSetLayoutCache;
+import com.justindriggers.example.renderer.descriptor.FrameDescriptorPools;
 import com.justindriggers.example.renderer.device.PhysicalDeviceMetadata;
+import com.justindriggers.example.renderer.loader.AsyncResourceLoader;
+import com.justindriggers.example.renderer.pipeline.GraphicsPipelineBuilder;
+import com.justindriggers.example.renderer.pipeline.ShaderModules;
+import com.justindriggers.example.renderer.pipeline.TrianglePipeline;
+import com.justindriggers.example.renderer.resource.ResourceTracker;
+import com.justindriggers.example.renderer.scaling.GpuFrameTimer;
+import com.justindriggers.example.renderer.scaling.ResolutionScaleController;
+import com.justindriggers.example.renderer.scaling.UpscalePass;
+import com.justindriggers.example.renderer.swapchain.ResizeController;
 import com.justindriggers.example.renderer.swapchain.SwapchainManager;
 import com.justindriggers.example.renderer.swapchain.SwapchainManagerImpl;
+import com.justindriggers.example.renderer.uniform.PushConstantBlock;
+import com.justindriggers.example.renderer.uniform.UniformRingAllocator;
+import com.justindriggers.example.trace.Timeline;
+import com.justindriggers.example.trace.TraceEventType;
+import com.justindriggers.example.trace.Tracer;
 import com.justindriggers.vulkan.command.CommandBuffer;
 import com.justindriggers.vulkan.command.CommandPool;
+import com.justindriggers.vulkan.command.commands.BeginRenderPassCommand;
+import com.justindriggers.vulkan.command.commands.EndRenderPassCommand;
+import com.justindriggers.vulkan.command.models.CommandBufferLevel;
 import com.justindriggers.vulkan.command.models.CommandPoolCreateFlag;
 import com.justindriggers.vulkan.devices.logical.LogicalDevice;
 import com.justindriggers.vulkan.devices.physical.PhysicalDevice;
 import com.justindriggers.vulkan.instance.VulkanInstance;
 import com.justindriggers.vulkan.instance.models.VulkanException;
+import com.justindriggers.vulkan.models.Extent2D;
+import com.justindriggers.vulkan.models.Offset2D;
+import com.justindriggers.vulkan.models.Rect2D;
+import com.justindriggers.vulkan.models.clear.ClearColorFloat;
+import com.justindriggers.vulkan.models.clear.ClearValue;
 import com.justindriggers.vulkan.models.pointers.Disposable;
 import com.justindriggers.vulkan.pipeline.models.PipelineStage;
-import com.justindriggers.vulkan.pipeline.shader.ShaderModule;
-import com.justindriggers.vulkan.pipeline.shader.ShaderModuleLoader;
 import com.justindriggers.vulkan.queue.Queue;
 import com.justindriggers.vulkan.queue.QueueFamily;
 import com.justindriggers.vulkan.surface.Surface;
 import com.justindriggers.vulkan.swapchain.Swapchain;
+import com.justindriggers.vulkan.swapchain.models.SubpassContents;
 import com.justindriggers.vulkan.synchronize.Fence;
 import com.justindriggers.vulkan.synchronize.Semaphore;
 import com.justindriggers.vulkan.synchronize.models.FenceCreationFlag;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.vulkan.VkCommandBuffer;
+import org.lwjgl.vulkan.VkDevice;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -32,15 +63,26 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
+import static org.lwjgl.vulkan.KHRSwapchain.VK_ERROR_OUT_OF_DATE_KHR;
 import static org.lwjgl.vulkan.KHRSwapchain.VK_KHR_SWAPCHAIN_EXTENSION_NAME;
+import static org.lwjgl.vulkan.KHRSwapchain.VK_SUBOPTIMAL_KHR;
+import static org.lwjgl.vulkan.KHRSwapchain.vkAcquireNextImageKHR;
+import static org.lwjgl.vulkan.VK10.VK_DESCRIPTOR_TYPE_COMBINED_IMAGE_SAMPLER;
+import static org.lwjgl.vulkan.VK10.VK_DESCRIPTOR_TYPE_UNIFORM_BUFFER_DYNAMIC;
+import static org.lwjgl.vulkan.VK10.VK_NULL_HANDLE;
+import static org.lwjgl.vulkan.VK10.vkDestroyPipeline;
+import static org.lwjgl.vulkan.VK10.vkDestroyPipelineLayout;
+import static org.lwjgl.vulkan.VK10.vkDestroyShaderModule;
 
 public class VulkanRenderer implements Renderer {
 
@@ -51,96 +93,284 @@ public class VulkanRenderer implements Renderer {
     ).collect(Collectors.toSet());
 
     private static final int MAX_IN_FLIGHT_FRAMES = 2;
+    private static final long NO_TIMEOUT = -1L; // UINT64_MAX
+    private static final int UNIFORM_BYTES_PER_FRAME = 64 * 1024;
+    private static final int DESCRIPTOR_SETS_PER_FRAME = 16;
 
-    private AtomicInteger currentFrameCounter = new AtomicInteger(0);
-    private AtomicBoolean isDirty = new AtomicBoolean(false);
+    // The triangle stands still unless a rotation speed is given
+    private static final double ROTATION_RADIANS_PER_SECOND = Math.toRadians(
+            Double.parseDouble(System.getProperty("example.rotation.degreesPerSecond", "0")));
+
+    private static final List<ClearValue> CLEAR_VALUES = Collections.singletonList(
+            new ClearColorFloat(0.0f, 0.0f, 0.0f, 1.0f)
+    );
+
+    private static final List<String> SWAPCHAIN_RESOURCE_TYPES = Stream.concat(
+            SwapchainManager.RESOURCE_TYPES.stream(), UpscalePass.RESOURCE_TYPES.stream())
+            .collect(Collectors.toList());
 
-    private final Surface surface;
+    private static final int LOADER_WORKER_COUNT = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    private static final int UPLOAD_QUEUE_CAPACITY = 64;
+    private static final long UPLOAD_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+
+    private AtomicInteger currentFrameCounter = new AtomicInteger(0);
+    private final ResizeController resizeController = new ResizeController();
+    private final ResourceTracker resourceTracker = new ResourceTracker();
 
     private final LogicalDevice device;
+    private final VkDevice deviceHandle;
 
     private final PhysicalDeviceMetadata chosenPhysicalDeviceMetadata;
 
     private final Queue graphicsQueue;
     private final Queue presentationQueue;
 
-    private final ShaderModule vertexShader;
-    private final ShaderModule fragmentShader;
+    private final AsyncResourceLoader resourceLoader;
+
+    private final CompletableFuture<Long> vertexShader;
+    private final CompletableFuture<Long> fragmentShader;
+    private final CompletableFuture<Long> upscaleVertexShader;
+    private final CompletableFuture<Long> upscaleFragmentShader;
+
+    private final List<ComputeWorkload> computeWorkloads;
+    private final Map<String, CompletableFuture<Long>> workloadShaders;
+
+    private boolean isSwapchainCreated;
+
+    private final Timeline startupTimeline;
+    private boolean isFirstFramePresented;
 
     private final CommandPool commandPool;
+    private final List<CommandBuffer> commandBuffers;
 
     private final SwapchainManager swapchainManager;
 
+    private final DescriptorSetLayoutCache descriptorSetLayoutCache;
+    private final FrameDescriptorPools frameDescriptorPools;
+    private final long descriptorSetLayout;
+    private final DescriptorPool descriptorPool;
+    private final List<Long> descriptorSets;
+    private final long pipelineLayout;
+    private long graphicsPipeline = VK_NULL_HANDLE;
+
     private final List<Semaphore> imageAcquiredSemaphores;
     private final List<Semaphore> renderCompleteSemaphores;
     private final List<Fence> inFlightFences;
 
-    public VulkanRenderer(final VulkanInstance instance, final Surface surface) {
-        this.surface = surface;
+    private final UniformRingAllocator uniformRing;
+    private final PushConstantBlock pushConstants = new PushConstantBlock(TrianglePipeline.PUSH_CONSTANT_SIZE);
+    private final long startNanos = System.nanoTime();
+
+    private final ResolutionScaleController resolutionScaleController;
+    private final UpscalePass upscalePass;
+    private final GpuFrameTimer gpuFrameTimer;
+
+    private Extent2D windowExtent;
+
+    public VulkanRenderer(final VulkanInstance instance, final Surface surface, final int width, final int height) {
+        this(instance, surface, width, height, Collections.emptyList(), new Timeline("Renderer startup"));
+    }
+
+    public VulkanRenderer(final VulkanInstance instance, final Surface surface, final int width, final int height,
+                          final List<ComputeWorkload> computeWorkloads, final Timeline startupTimeline) {
+        this.computeWorkloads = computeWorkloads;
+        this.startupTimeline = startupTimeline;
+
+        windowExtent = new Extent2D(width, height);
 
         final List<PhysicalDevice> physicalDevices = Optional.ofNullable(instance.getPhysicalDevices())
                 .orElseGet(Collections::emptyList);
 
         chosenPhysicalDeviceMetadata = getMostSuitablePhysicalDeviceMetadata(physicalDevices, surface);
 
+        if (!computeWorkloads.isEmpty() && !chosenPhysicalDeviceMetadata.supportsGraphicsQueueCompute()) {
+            throw new IllegalStateException("Graphics queue family does not support compute");
+        }
+
         final PhysicalDevice chosenPhysicalDevice = chosenPhysicalDeviceMetadata.getPhysicalDevice();
         final QueueFamily graphicsQueueFamily = chosenPhysicalDeviceMetadata.getGraphicsQueueFamily();
         final QueueFamily presentationQueueFamily = chosenPhysicalDeviceMetadata.getPresentationQueueFamily();
 
-        device = createLogicalDevice(chosenPhysicalDevice, graphicsQueueFamily, presentationQueueFamily);
+        device = resourceTracker.track(createLogicalDevice(chosenPhysicalDevice, graphicsQueueFamily,
+                presentationQueueFamily));
 
         graphicsQueue = device.getQueue(graphicsQueueFamily, 0);
         presentationQueue = device.getQueue(presentationQueueFamily, 0);
 
-        ShaderModuleLoader shaderModuleLoader = new ShaderModuleLoader();
-        vertexShader = shaderModuleLoader.loadFromFile(device, "triangle.vert.spv");
-        fragmentShader = shaderModuleLoader.loadFromFile(device, "triangle.frag.spv");
+        deviceHandle = device.unwrap();
 
-        commandPool = new CommandPool(device, graphicsQueueFamily, CommandPoolCreateFlag.RESET_COMMAND_BUFFER);
+        startupTimeline.mark("device");
 
-        swapchainManager = new SwapchainManagerImpl(commandPool);
-        recreateSwapchain();
+        resourceLoader = new AsyncResourceLoader(LOADER_WORKER_COUNT, UPLOAD_QUEUE_CAPACITY);
+
+        // The file reads happen on the workers; the modules are created from the loaded bytes as they are drained
+        vertexShader = resourceLoader.load("triangle.vert.spv", this::createShaderModule);
+        fragmentShader = resourceLoader.load("triangle.frag.spv", this::createShaderModule);
+
+        resolutionScaleController = ResolutionScaleController.fromSystemProperties()
+                .orElse(null);
+
+        // The upscale shaders are only needed when the scene can render below the swapchain's resolution
+        if (resolutionScaleController != null) {
+            upscaleVertexShader = resourceLoader.load(UpscalePass.VERTEX_SHADER, this::createShaderModule);
+            upscaleFragmentShader = resourceLoader.load(UpscalePass.FRAGMENT_SHADER, this::createShaderModule);
+        } else {
+            upscaleVertexShader = CompletableFuture.completedFuture(null);
+            upscaleFragmentShader = CompletableFuture.completedFuture(null);
+        }
+
+        workloadShaders = computeWorkloads.stream()
+                .map(ComputeWorkload::getShaderResources)
+                .flatMap(Collection::stream)
+                .distinct()
+                .collect(Collectors.toMap(Function.identity(),
+                        resourceName -> resourceLoader.load(resourceName, this::createShaderModule)));
+
+        commandPool = resourceTracker.track(new CommandPool(device, graphicsQueueFamily,
+                CommandPoolCreateFlag.RESET_COMMAND_BUFFER));
+
+        // Each frame slot re-records its own command buffer once its fence has signalled
+        commandBuffers = commandPool.createCommandBuffers(CommandBufferLevel.PRIMARY, MAX_IN_FLIGHT_FRAMES);
+        commandBuffers.forEach(resourceTracker::track);
+
+        swapchainManager = new SwapchainManagerImpl(surface, chosenPhysicalDeviceMetadata, device, resourceTracker);
+
+        descriptorSetLayoutCache = resourceTracker.track(new DescriptorSetLayoutCache(deviceHandle));
+        descriptorSetLayout = descriptorSetLayoutCache.getOrCreate(TrianglePipeline.DESCRIPTOR_BINDINGS);
+
+        frameDescriptorPools = resourceTracker.track(new FrameDescriptorPools(deviceHandle, MAX_IN_FLIGHT_FRAMES,
+                DESCRIPTOR_SETS_PER_FRAME, Collections.singletonMap(VK_DESCRIPTOR_TYPE_COMBINED_IMAGE_SAMPLER,
+                        DESCRIPTOR_SETS_PER_FRAME)));
+
+        upscalePass = Optional.ofNullable(resolutionScaleController)
+                .map(controller -> resourceTracker.track(new UpscalePass(deviceHandle, descriptorSetLayoutCache,
+                        resourceTracker)))
+                .orElse(null);
+
+        // The scene pass is timed on the GPU, so the scale follows how long the scene takes to render rather than
+        // how often frames are presented
+        gpuFrameTimer = Optional.ofNullable(resolutionScaleController)
+                .flatMap(controller -> GpuFrameTimer.create(deviceHandle, graphicsQueueFamily.getIndex(),
+                        MAX_IN_FLIGHT_FRAMES))
+                .map(resourceTracker::track)
+                .orElse(null);
+
+        if (resolutionScaleController != null && gpuFrameTimer == null) {
+            LOGGER.log(Level.WARNING, "Graphics queue doesn't support timestamps, so the render scale will stay fixed");
+        }
+
+        pipelineLayout = resourceTracker.trackHandle("VkPipelineLayout",
+                TrianglePipeline.createPipelineLayout(deviceHandle, descriptorSetLayout));
 
         imageAcquiredSemaphores = new ArrayList<>(MAX_IN_FLIGHT_FRAMES);
         renderCompleteSemaphores = new ArrayList<>(MAX_IN_FLIGHT_FRAMES);
         inFlightFences = new ArrayList<>(MAX_IN_FLIGHT_FRAMES);
 
-        IntStream.of(0, MAX_IN_FLIGHT_FRAMES)
+        IntStream.range(0, MAX_IN_FLIGHT_FRAMES)
                 .forEach(i -> {
-                    imageAcquiredSemaphores.add(new Semaphore(device));
-                    renderCompleteSemaphores.add(new Semaphore(device));
-                    inFlightFences.add(new Fence(device, FenceCreationFlag.SIGNALED));
+                    imageAcquiredSemaphores.add(resourceTracker.track(new Semaphore(device)));
+                    renderCompleteSemaphores.add(resourceTracker.track(new Semaphore(device)));
+                    inFlightFences.add(resourceTracker.track(new Fence(device, FenceCreationFlag.SIGNALED)));
                 });
+
+        uniformRing = new UniformRingAllocator(deviceHandle, MAX_IN_FLIGHT_FRAMES, UNIFORM_BYTES_PER_FRAME);
+        resourceTracker.track(uniformRing, uniformRing.getNativeSize());
+
+        // The sets only ever point at the ring buffer, and the dynamic offset picks the region, so each slot's set is
+        // written once here instead of every frame
+        descriptorPool = resourceTracker.track(new DescriptorPool(deviceHandle, MAX_IN_FLIGHT_FRAMES,
+                Collections.singletonMap(VK_DESCRIPTOR_TYPE_UNIFORM_BUFFER_DYNAMIC, MAX_IN_FLIGHT_FRAMES)));
+
+        descriptorSets = IntStream.range(0, MAX_IN_FLIGHT_FRAMES)
+                .mapToObj(i -> descriptorPool.allocate(descriptorSetLayout))
+                .collect(Collectors.toList());
+
+        descriptorSets.forEach(descriptorSet -> TrianglePipeline.writeDescriptorSet(deviceHandle, descriptorSet,
+                uniformRing.getHandle()));
+
+        TrianglePipeline.putModel(pushConstants, 0.0f);
+
+        startupTimeline.mark("renderer");
     }
 
     @Override
     public void renderFrame() {
-        if (isDirty.getAndSet(false)) {
+        if (resizeController.isPaused()) {
+            return;
+        }
+
+        resourceLoader.drain(UPLOAD_BUDGET_NANOS);
+
+        if (!isSwapchainCreated) {
+            // The pipelines can't be built until their shaders have finished loading
+            if (!vertexShader.isDone() || !fragmentShader.isDone()
+                    || !upscaleVertexShader.isDone() || !upscaleFragmentShader.isDone()
+                    || !workloadShaders.values().stream().allMatch(CompletableFuture::isDone)) {
+                return;
+            }
+
+            createGraphicsPipeline();
+            createWorkloadPipelines();
             recreateSwapchain();
+            isSwapchainCreated = true;
         }
 
+        final long now = System.nanoTime();
+
+        if (resizeController.shouldRebuild(now)) {
+            recreateSwapchain();
+        }
+
+        // Begun only once nothing can return early, since every span has to end for the live JFR sink
+        final long frameStart = Tracer.begin(TraceEventType.FRAME);
+
         final int currentFrame = currentFrameCounter.getAndUpdate(i -> (i + 1) % MAX_IN_FLIGHT_FRAMES);
 
         final Semaphore imageAcquiredSemaphore = imageAcquiredSemaphores.get(currentFrame);
         final Semaphore renderCompleteSemaphore = renderCompleteSemaphores.get(currentFrame);
         final Fence inFlightFence = inFlightFences.get(currentFrame);
 
+        TraceEventType stage = TraceEventType.ACQUIRE;
+        int nextImageIndex = -1;
+
         try {
+            final long fenceWaitStart = Tracer.begin(TraceEventType.FENCE_WAIT);
+
             // Wait until the last graphics queue submission for this fence has completed
             inFlightFence.waitForSignal();
 
+            Tracer.end(TraceEventType.FENCE_WAIT, fenceWaitStart, currentFrame, nextImageIndex);
+
+            updateResolutionScale(currentFrame);
+
+            // The GPU is no longer reading this frame's uniforms or descriptor sets, so both can be rewound
+            uniformRing.beginFrame(currentFrame);
+            frameDescriptorPools.beginFrame(currentFrame);
+
             final Swapchain currentSwapchain = swapchainManager.getCurrentSwapchain();
-            final List<CommandBuffer> currentCommandBuffers = swapchainManager.getCurrentCommandBuffers();
 
-            final int nextImageIndex = currentSwapchain.acquireNextImageIndex(imageAcquiredSemaphore, null);
+            final long acquireStart = Tracer.begin(TraceEventType.ACQUIRE);
+
+            nextImageIndex = acquireNextImageIndex(currentSwapchain, imageAcquiredSemaphore, currentFrame);
+
+            Tracer.end(TraceEventType.ACQUIRE, acquireStart, currentFrame, nextImageIndex);
+
+            if (nextImageIndex < 0) {
+                // Out of date, so the next frame rebuilds the swapchain first
+                return;
+            }
 
-            final CommandBuffer commandBuffer = currentCommandBuffers.get(nextImageIndex);
+            final CommandBuffer commandBuffer = commandBuffers.get(currentFrame);
+            recordFrame(commandBuffer, currentFrame, nextImageIndex);
 
             // Don't reset the fence until we have successfully acquired the next image index.
             // If we were to reset the fence first and the next image acquisition failed, then we would have to
             // construct a new fence in order to continue, since the current fence would never enter the signaled state.
             inFlightFence.reset();
 
+            stage = TraceEventType.SUBMIT;
+            final long submitStart = Tracer.begin(TraceEventType.SUBMIT);
+
             graphicsQueue.submit(
                     Collections.singletonList(imageAcquiredSemaphore),
                     Collections.singletonList(PipelineStage.COLOR_ATTACHMENT_OUTPUT),
@@ -149,48 +379,286 @@ public class VulkanRenderer implements Renderer {
                     inFlightFence
             );
 
+            Tracer.end(TraceEventType.SUBMIT, submitStart, currentFrame, nextImageIndex);
+
+            stage = TraceEventType.PRESENT;
+            final long presentStart = Tracer.begin(TraceEventType.PRESENT);
+
             presentationQueue.present(
                     Collections.singletonList(currentSwapchain),
                     Collections.singletonList(nextImageIndex),
                     Collections.singleton(renderCompleteSemaphore)
             );
+
+            Tracer.end(TraceEventType.PRESENT, presentStart, currentFrame, nextImageIndex);
+
+            if (!isFirstFramePresented) {
+                isFirstFramePresented = true;
+
+                startupTimeline.mark("first frame");
+                startupTimeline.report();
+            }
         } catch (final VulkanException e) {
             switch (e.getResult()) {
                 case ERROR_OUT_OF_DATE:
+                    Tracer.instant(TraceEventType.OUT_OF_DATE, currentFrame, stage);
+                    resizeController.onOutOfDate();
+                    break;
                 case SUBOPTIMAL:
+                    Tracer.instant(TraceEventType.SUBOPTIMAL, currentFrame, stage);
+
+                    // The image was presented, just not optimally, so let size events settle first
                     refresh();
                     break;
                 default:
                     throw e;
             }
+        } finally {
+            Tracer.end(TraceEventType.FRAME, frameStart, currentFrame, nextImageIndex);
         }
     }
 
     @Override
     public void refresh() {
-        isDirty.set(true);
+        resizeController.requestRefresh();
+    }
+
+    @Override
+    public void resize(final int width, final int height) {
+        if (width > 0 && height > 0) {
+            windowExtent = new Extent2D(width, height);
+        }
+
+        resizeController.onResize(width, height);
     }
 
     @Override
     public void close() throws IOException {
         Optional.ofNullable(device).ifPresent(LogicalDevice::waitIdle);
 
+        LOGGER.log(Level.INFO, () -> String.format("Rebuilt swapchain %d times, avoiding %d rebuilds",
+                resizeController.getRebuildCount(), resizeController.getAvoidedRebuildCount()));
+
         swapchainManager.close();
 
-        imageAcquiredSemaphores.forEach(Disposable::close);
-        renderCompleteSemaphores.forEach(Disposable::close);
-        inFlightFences.forEach(Disposable::close);
+        commandPool.destroyCommandBuffers(commandBuffers);
+        commandBuffers.forEach(resourceTracker::release);
+
+        if (graphicsPipeline != VK_NULL_HANDLE) {
+            vkDestroyPipeline(deviceHandle, graphicsPipeline, null);
+            resourceTracker.releaseHandle("VkPipeline", graphicsPipeline);
+        }
+
+        vkDestroyPipelineLayout(deviceHandle, pipelineLayout, null);
+        resourceTracker.releaseHandle("VkPipelineLayout", pipelineLayout);
+
+        Optional.ofNullable(upscalePass)
+                .ifPresent(resourceTracker::dispose);
+
+        Optional.ofNullable(gpuFrameTimer)
+                .ifPresent(resourceTracker::dispose);
+
+        resourceTracker.dispose(frameDescriptorPools);
+        resourceTracker.dispose(descriptorPool);
+        resourceTracker.dispose(descriptorSetLayoutCache);
 
-        Stream.of(commandPool, fragmentShader, vertexShader, device)
+        imageAcquiredSemaphores.forEach(resourceTracker::dispose);
+        renderCompleteSemaphores.forEach(resourceTracker::dispose);
+        inFlightFences.forEach(resourceTracker::dispose);
+
+        resourceTracker.dispose(uniformRing);
+
+        // Finishes any outstanding loads, so every shader module that will ever be created exists by now
+        resourceLoader.close();
+
+        for (final ComputeWorkload computeWorkload : computeWorkloads) {
+            computeWorkload.close();
+        }
+
+        Stream.concat(workloadShaders.values().stream(), Stream.of(upscaleFragmentShader, upscaleVertexShader,
+                fragmentShader, vertexShader))
+                .map(VulkanRenderer::getIfLoaded)
                 .filter(Objects::nonNull)
+                .forEach(this::destroyShaderModule);
+
+        Stream.of(commandPool, device)
                 .map(Disposable.class::cast)
-                .forEachOrdered(Disposable::close);
+                .forEachOrdered(resourceTracker::dispose);
+
+        resourceTracker.reportLeaks();
+    }
+
+    // Goes through the raw handles, since the wrapper reports VK_SUBOPTIMAL_KHR by throwing and drops the acquired
+    // image index with it. A suboptimal image can still be rendered and presented, so the frame goes ahead and the
+    // rebuild waits for size events to settle. Returns -1 when the swapchain is out of date.
+    private int acquireNextImageIndex(final Swapchain swapchain, final Semaphore semaphore, final int frameSlot) {
+        final int result;
+
+        try (final MemoryStack stack = MemoryStack.stackPush()) {
+            final IntBuffer pImageIndex = stack.mallocInt(1);
+
+            final int status = vkAcquireNextImageKHR(deviceHandle, swapchain.unwrap(), NO_TIMEOUT, semaphore.unwrap(),
+                    VK_NULL_HANDLE, pImageIndex);
+
+            if (status == VK_ERROR_OUT_OF_DATE_KHR) {
+                Tracer.instant(TraceEventType.OUT_OF_DATE, frameSlot, TraceEventType.ACQUIRE);
+                resizeController.onOutOfDate();
+
+                result = -1;
+            } else {
+                if (status == VK_SUBOPTIMAL_KHR) {
+                    Tracer.instant(TraceEventType.SUBOPTIMAL, frameSlot, TraceEventType.ACQUIRE);
+                    refresh();
+                } else {
+                    VulkanResults.check(status, "acquire next swapchain image");
+                }
+
+                result = pImageIndex.get(0);
+            }
+        }
+
+        return result;
+    }
+
+    // Workloads draw into the same pass as the triangle
+    private void createWorkloadPipelines() {
+        final long sceneRenderPass = getSceneRenderPass();
+
+        computeWorkloads.forEach(computeWorkload -> {
+            final Map<String, Long> shaderModules = computeWorkload.getShaderResources().stream()
+                    .collect(Collectors.toMap(Function.identity(),
+                            resourceName -> workloadShaders.get(resourceName).join()));
+
+            computeWorkload.createPipelines(deviceHandle, shaderModules, sceneRenderPass, descriptorSetLayoutCache,
+                    resourceTracker);
+        });
+    }
+
+    // With an upscale pass the triangle renders into the offscreen scene image instead of the swapchain image
+    private void createGraphicsPipeline() {
+        graphicsPipeline = resourceTracker.trackHandle("VkPipeline",
+                TrianglePipeline.createGraphicsPipeline(deviceHandle, vertexShader.join(), fragmentShader.join(),
+                        getSceneRenderPass(), pipelineLayout));
+
+        Optional.ofNullable(upscalePass)
+                .ifPresent(pass -> pass.createPipeline(upscaleVertexShader.join(), upscaleFragmentShader.join(),
+                        swapchainManager.getRenderPass().unwrap()));
+    }
+
+    private long getSceneRenderPass() {
+        return Optional.ofNullable(upscalePass)
+                .map(UpscalePass::getSceneRenderPass)
+                .orElseGet(() -> swapchainManager.getRenderPass().unwrap());
+    }
+
+    private long createShaderModule(final ByteBuffer code) {
+        return resourceTracker.trackHandle("VkShaderModule", ShaderModules.create(deviceHandle, code));
+    }
+
+    private void destroyShaderModule(final long shaderModule) {
+        vkDestroyShaderModule(deviceHandle, shaderModule, null);
+        resourceTracker.releaseHandle("VkShaderModule", shaderModule);
+    }
+
+    // Re-recorded every frame, since the uniform offset, push constants and render scale can all change per frame
+    private void recordFrame(final CommandBuffer commandBuffer, final int frameSlot, final int imageIndex) {
+        final Extent2D imageExtent = swapchainManager.getCurrentExtent();
+        final Rect2D renderArea = new Rect2D(new Offset2D(0, 0), imageExtent);
+
+        final int uniformOffset = uniformRing.allocate(TrianglePipeline.UNIFORM_SIZE);
+        TrianglePipeline.putProjection(uniformRing.getBuffer(), uniformOffset,
+                imageExtent.getWidth() / (float) imageExtent.getHeight());
+
+        if (ROTATION_RADIANS_PER_SECOND != 0.0) {
+            final double elapsedSeconds = (System.nanoTime() - startNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+            TrianglePipeline.putModel(pushConstants,
+                    (float) ((elapsedSeconds * ROTATION_RADIANS_PER_SECOND) % (2.0 * Math.PI)));
+        }
+
+        final long descriptorSet = descriptorSets.get(frameSlot);
+
+        final VkCommandBuffer commandBufferHandle = commandBuffer.unwrap();
+
+        commandBuffer.begin();
+
+        try {
+            // Compute work has to be recorded outside of the render pass
+            computeWorkloads.forEach(computeWorkload -> computeWorkload.recordDispatch(commandBufferHandle, frameSlot));
+
+            if (upscalePass == null) {
+                commandBuffer.submit(new BeginRenderPassCommand(SubpassContents.INLINE,
+                        swapchainManager.getRenderPass(), swapchainManager.getCurrentFramebuffers().get(imageIndex),
+                        renderArea, CLEAR_VALUES));
+
+                GraphicsPipelineBuilder.recordViewport(commandBufferHandle, imageExtent.getWidth(),
+                        imageExtent.getHeight());
+                TrianglePipeline.recordDraw(commandBuffer, graphicsPipeline, pipelineLayout, descriptorSet,
+                        uniformOffset, pushConstants);
+                computeWorkloads.forEach(computeWorkload -> computeWorkload.recordDraw(commandBufferHandle, frameSlot));
+
+                commandBuffer.submit(new EndRenderPassCommand());
+            } else {
+                final float renderScale = resolutionScaleController.getScale();
+                final int sceneWidth = Math.max(1, Math.round(imageExtent.getWidth() * renderScale));
+                final int sceneHeight = Math.max(1, Math.round(imageExtent.getHeight() * renderScale));
+
+                final long upscaleDescriptorSet = frameDescriptorPools.allocate(upscalePass.getDescriptorSetLayout());
+                upscalePass.writeDescriptorSet(upscaleDescriptorSet);
+
+                Optional.ofNullable(gpuFrameTimer)
+                        .ifPresent(timer -> timer.recordBegin(commandBufferHandle, frameSlot));
+
+                upscalePass.recordBeginScene(commandBufferHandle, sceneWidth, sceneHeight);
+                TrianglePipeline.recordDraw(commandBuffer, graphicsPipeline, pipelineLayout, descriptorSet,
+                        uniformOffset, pushConstants);
+                computeWorkloads.forEach(computeWorkload -> computeWorkload.recordDraw(commandBufferHandle, frameSlot));
+                upscalePass.recordEndScene(commandBufferHandle);
+
+                Optional.ofNullable(gpuFrameTimer)
+                        .ifPresent(timer -> timer.recordEnd(commandBufferHandle, frameSlot));
+
+                commandBuffer.submit(new BeginRenderPassCommand(SubpassContents.INLINE,
+                        swapchainManager.getRenderPass(), swapchainManager.getCurrentFramebuffers().get(imageIndex),
+                        renderArea, CLEAR_VALUES));
+
+                upscalePass.recordUpscale(commandBufferHandle, upscaleDescriptorSet, sceneWidth, sceneHeight);
+
+                commandBuffer.submit(new EndRenderPassCommand());
+            }
+        } finally {
+            commandBuffer.end();
+        }
     }
 
     private void recreateSwapchain() {
         device.waitIdle();
 
-        swapchainManager.refresh(surface, chosenPhysicalDeviceMetadata, device, vertexShader, fragmentShader);
+        swapchainManager.refresh(windowExtent);
+
+        final Extent2D imageExtent = swapchainManager.getCurrentExtent();
+
+        Optional.ofNullable(upscalePass)
+                .ifPresent(pass -> pass.resize(imageExtent.getWidth(), imageExtent.getHeight()));
+
+        resourceTracker.checkpoint("swapchain refresh", SWAPCHAIN_RESOURCE_TYPES);
+    }
+
+    // Feeds the slot's last scene pass time to the controller once its fence has signalled. Only the viewport of the
+    // scene pass changes with the scale, so nothing needs rebuilding.
+    private void updateResolutionScale(final int frameSlot) {
+        Optional.ofNullable(gpuFrameTimer).ifPresent(timer -> {
+            final long sceneNanos = timer.getElapsedNanos(frameSlot);
+
+            if (sceneNanos >= 0L && resolutionScaleController.update(sceneNanos)) {
+                LOGGER.log(Level.FINE, () -> String.format("Render scale changed to %.2f (average scene time %.2fms)",
+                        resolutionScaleController.getScale(),
+                        resolutionScaleController.getAverageFrameNanos() / 1_000_000.0));
+            }
+        });
+    }
+
+    private static <T> T getIfLoaded(final CompletableFuture<T> future) {
+        return future.isDone() && !future.isCompletedExceptionally() ? future.join() : null;
     }
 
     private static PhysicalDeviceMetadata getMostSuitablePhysicalDeviceMetadata(final List<PhysicalDevice> physicalDevices,
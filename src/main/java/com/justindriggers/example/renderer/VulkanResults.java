@@ -0,0 +1,16 @@
+package com.justindriggers.example.renderer;
+
+import static org.lwjgl.vulkan.VK10.VK_SUCCESS;
+
+// The wrapper checks results for the calls it makes itself; this covers the raw VK10 calls made alongside it
+public final class VulkanResults {
+
+    private VulkanResults() {
+    }
+
+    public static void check(final int result, final String operation) {
+        if (result != VK_SUCCESS) {
+            throw new IllegalStateException(String.format("Unable to %s (VkResult %d)", operation, result));
+        }
+    }
+}
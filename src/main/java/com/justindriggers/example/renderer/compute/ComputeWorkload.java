@@ -0,0 +1,33 @@
+package com.justindriggers.example.renderer.compute;
+
+import com.justindriggers.example.renderer.descriptor.DescriptorSetLayoutCache;
+import com.justindriggers.example.renderer.resource.ResourceTracker;
+import org.lwjgl.vulkan.VkCommandBuffer;
+import org.lwjgl.vulkan.VkDevice;
+
+import java.io.Closeable;
+import java.util.Map;
+import java.util.Set;
+
+public interface ComputeWorkload extends Closeable {
+
+    // SPIR-V shaders to load alongside the renderer's own, e.g. "particles.comp.spv", including any the workload's
+    // graphics pipelines use to draw its results
+    Set<String> getShaderResources();
+
+    // Called on the render thread once every requested shader module has loaded. The renderer owns the VkShaderModule
+    // handles and destroys them on close. Graphics pipelines have to be built against renderPass, which stays the same
+    // for the renderer's lifetime. Everything the workload creates is registered with resourceTracker and released
+    // again on close, so the renderer's leak report covers it.
+    void createPipelines(final VkDevice device, final Map<String, Long> shaderModules, final long renderPass,
+                         final DescriptorSetLayoutCache descriptorSetLayoutCache,
+                         final ResourceTracker resourceTracker);
+
+    // Recorded ahead of the render pass in every frame's command buffer, once the frame slot's previous submission has
+    // completed. Implementations bind their pipelines and storage buffers, dispatch, and then record the barrier that
+    // makes their writes visible to the graphics stages consuming them.
+    void recordDispatch(final VkCommandBuffer commandBuffer, final int frameSlot);
+
+    // Recorded inside the render pass after the scene, with the viewport already set
+    void recordDraw(final VkCommandBuffer commandBuffer, final int frameSlot);
+}
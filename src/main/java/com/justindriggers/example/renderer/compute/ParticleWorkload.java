@@ -0,0 +1,331 @@
+package com.justindriggers.example.renderer.compute;
+
+import com.justindriggers.example.renderer.VulkanResults;
+import com.justindriggers.example.renderer.descriptor.DescriptorBinding;
+import com.justindriggers.example.renderer.descriptor.DescriptorPool;
+import com.justindriggers.example.renderer.descriptor.DescriptorSetLayoutCache;
+import com.justindriggers.example.renderer.memory.BufferAllocation;
+import com.justindriggers.example.renderer.pipeline.GraphicsPipelineBuilder;
+import com.justindriggers.example.renderer.resource.ResourceTracker;
+import com.justindriggers.example.renderer.uniform.PushConstantBlock;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.vulkan.VkCommandBuffer;
+import org.lwjgl.vulkan.VkComputePipelineCreateInfo;
+import org.lwjgl.vulkan.VkDescriptorBufferInfo;
+import org.lwjgl.vulkan.VkDevice;
+import org.lwjgl.vulkan.VkMemoryBarrier;
+import org.lwjgl.vulkan.VkPipelineLayoutCreateInfo;
+import org.lwjgl.vulkan.VkPushConstantRange;
+import org.lwjgl.vulkan.VkWriteDescriptorSet;
+
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.lwjgl.vulkan.VK10.VK_ACCESS_SHADER_READ_BIT;
+import static org.lwjgl.vulkan.VK10.VK_ACCESS_SHADER_WRITE_BIT;
+import static org.lwjgl.vulkan.VK10.VK_ACCESS_VERTEX_ATTRIBUTE_READ_BIT;
+import static org.lwjgl.vulkan.VK10.VK_BUFFER_USAGE_STORAGE_BUFFER_BIT;
+import static org.lwjgl.vulkan.VK10.VK_BUFFER_USAGE_VERTEX_BUFFER_BIT;
+import static org.lwjgl.vulkan.VK10.VK_DESCRIPTOR_TYPE_STORAGE_BUFFER;
+import static org.lwjgl.vulkan.VK10.VK_FORMAT_R32G32_SFLOAT;
+import static org.lwjgl.vulkan.VK10.VK_MEMORY_PROPERTY_HOST_COHERENT_BIT;
+import static org.lwjgl.vulkan.VK10.VK_MEMORY_PROPERTY_HOST_VISIBLE_BIT;
+import static org.lwjgl.vulkan.VK10.VK_NULL_HANDLE;
+import static org.lwjgl.vulkan.VK10.VK_PIPELINE_BIND_POINT_COMPUTE;
+import static org.lwjgl.vulkan.VK10.VK_PIPELINE_BIND_POINT_GRAPHICS;
+import static org.lwjgl.vulkan.VK10.VK_PIPELINE_STAGE_COMPUTE_SHADER_BIT;
+import static org.lwjgl.vulkan.VK10.VK_PIPELINE_STAGE_VERTEX_INPUT_BIT;
+import static org.lwjgl.vulkan.VK10.VK_PRIMITIVE_TOPOLOGY_POINT_LIST;
+import static org.lwjgl.vulkan.VK10.VK_SHADER_STAGE_COMPUTE_BIT;
+import static org.lwjgl.vulkan.VK10.VK_STRUCTURE_TYPE_COMPUTE_PIPELINE_CREATE_INFO;
+import static org.lwjgl.vulkan.VK10.VK_STRUCTURE_TYPE_MEMORY_BARRIER;
+import static org.lwjgl.vulkan.VK10.VK_STRUCTURE_TYPE_PIPELINE_LAYOUT_CREATE_INFO;
+import static org.lwjgl.vulkan.VK10.VK_STRUCTURE_TYPE_PIPELINE_SHADER_STAGE_CREATE_INFO;
+import static org.lwjgl.vulkan.VK10.VK_STRUCTURE_TYPE_WRITE_DESCRIPTOR_SET;
+import static org.lwjgl.vulkan.VK10.vkCmdBindDescriptorSets;
+import static org.lwjgl.vulkan.VK10.vkCmdBindPipeline;
+import static org.lwjgl.vulkan.VK10.vkCmdBindVertexBuffers;
+import static org.lwjgl.vulkan.VK10.vkCmdDispatch;
+import static org.lwjgl.vulkan.VK10.vkCmdDraw;
+import static org.lwjgl.vulkan.VK10.vkCmdPipelineBarrier;
+import static org.lwjgl.vulkan.VK10.vkCmdPushConstants;
+import static org.lwjgl.vulkan.VK10.vkCreateComputePipelines;
+import static org.lwjgl.vulkan.VK10.vkCreatePipelineLayout;
+import static org.lwjgl.vulkan.VK10.vkDestroyPipeline;
+import static org.lwjgl.vulkan.VK10.vkDestroyPipelineLayout;
+import static org.lwjgl.vulkan.VK10.vkUpdateDescriptorSets;
+
+// Particles bouncing around clip space. Each frame particles.comp steps them in place in a storage buffer, which
+// particle.vert then reads directly as its vertex buffer and draws as points.
+// Matches particles.comp: set 0 binding 0 is the particle array, and the push constants hold the time step and the
+// particle count. Every particle is a vec2 position followed by a vec2 velocity.
+public class ParticleWorkload implements ComputeWorkload {
+
+    public static final String COMPUTE_SHADER = "particles.comp.spv";
+    public static final String VERTEX_SHADER = "particle.vert.spv";
+    public static final String FRAGMENT_SHADER = "triangle.frag.spv";
+
+    private static final List<DescriptorBinding> DESCRIPTOR_BINDINGS = Collections.singletonList(
+            new DescriptorBinding(0, VK_DESCRIPTOR_TYPE_STORAGE_BUFFER, 1, VK_SHADER_STAGE_COMPUTE_BIT)
+    );
+
+    private static final int PARTICLE_SIZE = 4 * Float.BYTES;
+    private static final int PUSH_CONSTANT_SIZE = 2 * Integer.BYTES;
+    private static final int WORKGROUP_SIZE = 64;
+    private static final float MAX_SPEED = 0.5f;
+
+    // A stalled frame would otherwise send every particle straight to the edges
+    private static final long MAX_STEP_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final int particleCount;
+    private final PushConstantBlock pushConstants = new PushConstantBlock(PUSH_CONSTANT_SIZE);
+
+    private VkDevice device;
+    private ResourceTracker resourceTracker;
+    private BufferAllocation particles;
+    private DescriptorPool descriptorPool;
+    private long descriptorSet;
+    private long computePipelineLayout = VK_NULL_HANDLE;
+    private long computePipeline = VK_NULL_HANDLE;
+    private long graphicsPipelineLayout = VK_NULL_HANDLE;
+    private long graphicsPipeline = VK_NULL_HANDLE;
+
+    private long lastDispatchNanos;
+
+    public ParticleWorkload(final int particleCount) {
+        if (particleCount <= 0) {
+            throw new IllegalArgumentException("Particle count must be positive");
+        }
+
+        this.particleCount = particleCount;
+    }
+
+    // Returns empty when the particle count is 0, which disables the workload
+    public static Optional<ParticleWorkload> fromSystemProperties() {
+        final int particleCount = Integer.getInteger("example.particles", 0);
+
+        return particleCount > 0 ? Optional.of(new ParticleWorkload(particleCount)) : Optional.empty();
+    }
+
+    @Override
+    public Set<String> getShaderResources() {
+        return new HashSet<>(Arrays.asList(COMPUTE_SHADER, VERTEX_SHADER, FRAGMENT_SHADER));
+    }
+
+    @Override
+    public void createPipelines(final VkDevice device, final Map<String, Long> shaderModules, final long renderPass,
+                                final DescriptorSetLayoutCache descriptorSetLayoutCache,
+                                final ResourceTracker resourceTracker) {
+        this.device = device;
+        this.resourceTracker = resourceTracker;
+
+        // Host visible, so the initial state can be written directly. The buffer is small enough that reading it from
+        // host memory costs less than a staging upload would save.
+        particles = new BufferAllocation(device, particleCount * PARTICLE_SIZE,
+                VK_BUFFER_USAGE_STORAGE_BUFFER_BIT | VK_BUFFER_USAGE_VERTEX_BUFFER_BIT,
+                VK_MEMORY_PROPERTY_HOST_VISIBLE_BIT | VK_MEMORY_PROPERTY_HOST_COHERENT_BIT);
+        resourceTracker.track(particles, particles.getAllocationSize());
+
+        putInitialParticles(particles.getMappedMemory());
+
+        final long descriptorSetLayout = descriptorSetLayoutCache.getOrCreate(DESCRIPTOR_BINDINGS);
+
+        // The buffer never changes, so a single set is written once and bound every frame
+        descriptorPool = resourceTracker.track(new DescriptorPool(device, 1,
+                Collections.singletonMap(VK_DESCRIPTOR_TYPE_STORAGE_BUFFER, 1)));
+        descriptorSet = descriptorPool.allocate(descriptorSetLayout);
+        writeDescriptorSet();
+
+        computePipelineLayout = resourceTracker.trackHandle("VkPipelineLayout",
+                createComputePipelineLayout(descriptorSetLayout));
+        computePipeline = resourceTracker.trackHandle("VkPipeline",
+                createComputePipeline(shaderModules.get(COMPUTE_SHADER)));
+
+        graphicsPipelineLayout = resourceTracker.trackHandle("VkPipelineLayout", createGraphicsPipelineLayout());
+        graphicsPipeline = resourceTracker.trackHandle("VkPipeline", new GraphicsPipelineBuilder()
+                .shaders(shaderModules.get(VERTEX_SHADER), shaderModules.get(FRAGMENT_SHADER))
+                .topology(VK_PRIMITIVE_TOPOLOGY_POINT_LIST)
+                .vertexBinding(0, PARTICLE_SIZE)
+                .vertexAttribute(0, 0, VK_FORMAT_R32G32_SFLOAT, 0)
+                .vertexAttribute(1, 0, VK_FORMAT_R32G32_SFLOAT, 2 * Float.BYTES)
+                .build(device, renderPass, graphicsPipelineLayout));
+    }
+
+    // Every frame steps the same buffer, so the dispatch first waits for the previous frame's draw to stop reading it
+    @Override
+    public void recordDispatch(final VkCommandBuffer commandBuffer, final int frameSlot) {
+        final long now = System.nanoTime();
+        final long stepNanos = lastDispatchNanos == 0L ? 0L : Math.min(now - lastDispatchNanos, MAX_STEP_NANOS);
+        lastDispatchNanos = now;
+
+        pushConstants.putFloat(0, stepNanos / (float) TimeUnit.SECONDS.toNanos(1))
+                .putInt(4, particleCount);
+
+        try (final MemoryStack stack = MemoryStack.stackPush()) {
+            recordBarrier(commandBuffer, stack,
+                    VK_PIPELINE_STAGE_VERTEX_INPUT_BIT | VK_PIPELINE_STAGE_COMPUTE_SHADER_BIT,
+                    VK_PIPELINE_STAGE_COMPUTE_SHADER_BIT,
+                    VK_ACCESS_SHADER_WRITE_BIT,
+                    VK_ACCESS_SHADER_READ_BIT | VK_ACCESS_SHADER_WRITE_BIT);
+
+            vkCmdBindPipeline(commandBuffer, VK_PIPELINE_BIND_POINT_COMPUTE, computePipeline);
+            vkCmdBindDescriptorSets(commandBuffer, VK_PIPELINE_BIND_POINT_COMPUTE, computePipelineLayout, 0,
+                    stack.longs(descriptorSet), null);
+            vkCmdPushConstants(commandBuffer, computePipelineLayout, VK_SHADER_STAGE_COMPUTE_BIT, 0,
+                    pushConstants.getData());
+            vkCmdDispatch(commandBuffer, (particleCount + WORKGROUP_SIZE - 1) / WORKGROUP_SIZE, 1, 1);
+
+            // The draw reads the stepped particles as vertex attributes
+            recordBarrier(commandBuffer, stack,
+                    VK_PIPELINE_STAGE_COMPUTE_SHADER_BIT,
+                    VK_PIPELINE_STAGE_VERTEX_INPUT_BIT,
+                    VK_ACCESS_SHADER_WRITE_BIT,
+                    VK_ACCESS_VERTEX_ATTRIBUTE_READ_BIT);
+        }
+    }
+
+    @Override
+    public void recordDraw(final VkCommandBuffer commandBuffer, final int frameSlot) {
+        try (final MemoryStack stack = MemoryStack.stackPush()) {
+            vkCmdBindPipeline(commandBuffer, VK_PIPELINE_BIND_POINT_GRAPHICS, graphicsPipeline);
+            vkCmdBindVertexBuffers(commandBuffer, 0, stack.longs(particles.getBuffer()), stack.longs(0L));
+            vkCmdDraw(commandBuffer, particleCount, 1, 0, 0);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (device != null) {
+            Stream.of(graphicsPipeline, computePipeline).forEach(pipeline -> {
+                vkDestroyPipeline(device, pipeline, null);
+                resourceTracker.releaseHandle("VkPipeline", pipeline);
+            });
+
+            Stream.of(graphicsPipelineLayout, computePipelineLayout).forEach(pipelineLayout -> {
+                vkDestroyPipelineLayout(device, pipelineLayout, null);
+                resourceTracker.releaseHandle("VkPipelineLayout", pipelineLayout);
+            });
+
+            resourceTracker.dispose(descriptorPool);
+            resourceTracker.dispose(particles);
+        }
+    }
+
+    // Fixed seed, so every run starts from the same state
+    private void putInitialParticles(final ByteBuffer buffer) {
+        final Random random = new Random(0L);
+
+        for (int i = 0; i < particleCount; i++) {
+            final int offset = i * PARTICLE_SIZE;
+
+            buffer.putFloat(offset, random.nextFloat() * 2.0f - 1.0f)
+                    .putFloat(offset + 4, random.nextFloat() * 2.0f - 1.0f)
+                    .putFloat(offset + 8, (random.nextFloat() * 2.0f - 1.0f) * MAX_SPEED)
+                    .putFloat(offset + 12, (random.nextFloat() * 2.0f - 1.0f) * MAX_SPEED);
+        }
+    }
+
+    private void writeDescriptorSet() {
+        try (final MemoryStack stack = MemoryStack.stackPush()) {
+            final VkDescriptorBufferInfo.Buffer bufferInfos = VkDescriptorBufferInfo.callocStack(1, stack);
+
+            bufferInfos.get(0)
+                    .buffer(particles.getBuffer())
+                    .offset(0L)
+                    .range(particleCount * PARTICLE_SIZE);
+
+            final VkWriteDescriptorSet.Buffer descriptorWrites = VkWriteDescriptorSet.callocStack(1, stack);
+
+            descriptorWrites.get(0)
+                    .sType(VK_STRUCTURE_TYPE_WRITE_DESCRIPTOR_SET)
+                    .dstSet(descriptorSet)
+                    .dstBinding(0)
+                    .descriptorType(VK_DESCRIPTOR_TYPE_STORAGE_BUFFER)
+                    .pBufferInfo(bufferInfos);
+
+            vkUpdateDescriptorSets(device, descriptorWrites, null);
+        }
+    }
+
+    private long createComputePipelineLayout(final long descriptorSetLayout) {
+        try (final MemoryStack stack = MemoryStack.stackPush()) {
+            final VkPushConstantRange.Buffer pushConstantRanges = VkPushConstantRange.callocStack(1, stack);
+
+            pushConstantRanges.get(0)
+                    .stageFlags(VK_SHADER_STAGE_COMPUTE_BIT)
+                    .offset(0)
+                    .size(PUSH_CONSTANT_SIZE);
+
+            final VkPipelineLayoutCreateInfo createInfo = VkPipelineLayoutCreateInfo.callocStack(stack)
+                    .sType(VK_STRUCTURE_TYPE_PIPELINE_LAYOUT_CREATE_INFO)
+                    .pSetLayouts(stack.longs(descriptorSetLayout))
+                    .pPushConstantRanges(pushConstantRanges);
+
+            final LongBuffer pPipelineLayout = stack.mallocLong(1);
+            VulkanResults.check(vkCreatePipelineLayout(device, createInfo, null, pPipelineLayout),
+                    "create pipeline layout");
+
+            return pPipelineLayout.get(0);
+        }
+    }
+
+    // The draw reads nothing but its vertex attributes
+    private long createGraphicsPipelineLayout() {
+        try (final MemoryStack stack = MemoryStack.stackPush()) {
+            final VkPipelineLayoutCreateInfo createInfo = VkPipelineLayoutCreateInfo.callocStack(stack)
+                    .sType(VK_STRUCTURE_TYPE_PIPELINE_LAYOUT_CREATE_INFO);
+
+            final LongBuffer pPipelineLayout = stack.mallocLong(1);
+            VulkanResults.check(vkCreatePipelineLayout(device, createInfo, null, pPipelineLayout),
+                    "create pipeline layout");
+
+            return pPipelineLayout.get(0);
+        }
+    }
+
+    private long createComputePipeline(final long computeShader) {
+        try (final MemoryStack stack = MemoryStack.stackPush()) {
+            final VkComputePipelineCreateInfo.Buffer createInfos = VkComputePipelineCreateInfo.callocStack(1, stack);
+
+            createInfos.get(0)
+                    .sType(VK_STRUCTURE_TYPE_COMPUTE_PIPELINE_CREATE_INFO)
+                    .layout(computePipelineLayout)
+                    .basePipelineIndex(-1);
+
+            createInfos.get(0).stage()
+                    .sType(VK_STRUCTURE_TYPE_PIPELINE_SHADER_STAGE_CREATE_INFO)
+                    .stage(VK_SHADER_STAGE_COMPUTE_BIT)
+                    .module(computeShader)
+                    .pName(stack.UTF8("main"));
+
+            final LongBuffer pPipeline = stack.mallocLong(1);
+            VulkanResults.check(vkCreateComputePipelines(device, VK_NULL_HANDLE, createInfos, null, pPipeline),
+                    "create compute pipeline");
+
+            return pPipeline.get(0);
+        }
+    }
+
+    private static void recordBarrier(final VkCommandBuffer commandBuffer, final MemoryStack stack,
+                                      final int srcStageMask, final int dstStageMask,
+                                      final int srcAccessMask, final int dstAccessMask) {
+        final VkMemoryBarrier.Buffer memoryBarriers = VkMemoryBarrier.callocStack(1, stack);
+
+        memoryBarriers.get(0)
+                .sType(VK_STRUCTURE_TYPE_MEMORY_BARRIER)
+                .srcAccessMask(srcAccessMask)
+                .dstAccessMask(dstAccessMask);
+
+        vkCmdPipelineBarrier(commandBuffer, srcStageMask, dstStageMask, 0, memoryBarriers, null, null);
+    }
+}
@@ -0,0 +1,61 @@
+package com.justindriggers.example.renderer.descriptor;
+
+import java.util.Objects;
+
+// Value type describing one VkDescriptorSetLayoutBinding, so equal layouts can be looked up in the cache
+public final class DescriptorBinding {
+
+    private final int binding;
+    private final int descriptorType;
+    private final int descriptorCount;
+    private final int stageFlags;
+
+    public DescriptorBinding(final int binding, final int descriptorType, final int descriptorCount,
+                             final int stageFlags) {
+        this.binding = binding;
+        this.descriptorType = descriptorType;
+        this.descriptorCount = descriptorCount;
+        this.stageFlags = stageFlags;
+    }
+
+    public int getBinding() {
+        return binding;
+    }
+
+    public int getDescriptorType() {
+        return descriptorType;
+    }
+
+    public int getDescriptorCount() {
+        return descriptorCount;
+    }
+
+    public int getStageFlags() {
+        return stageFlags;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        final boolean result;
+
+        if (this == o) {
+            result = true;
+        } else if (o == null || getClass() != o.getClass()) {
+            result = false;
+        } else {
+            final DescriptorBinding that = (DescriptorBinding) o;
+
+            result = binding == that.binding
+                    && descriptorType == that.descriptorType
+                    && descriptorCount == that.descriptorCount
+                    && stageFlags == that.stageFlags;
+        }
+
+        return result;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(binding, descriptorType, descriptorCount, stageFlags);
+    }
+}
@@ -0,0 +1,75 @@
+package com.justindriggers.example.renderer.descriptor;
+
+import com.justindriggers.example.renderer.VulkanResults;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.vulkan.VkDescriptorPoolCreateInfo;
+import org.lwjgl.vulkan.VkDescriptorPoolSize;
+import org.lwjgl.vulkan.VkDescriptorSetAllocateInfo;
+import org.lwjgl.vulkan.VkDevice;
+
+import java.io.Closeable;
+import java.nio.LongBuffer;
+import java.util.Map;
+
+import static org.lwjgl.vulkan.VK10.VK_STRUCTURE_TYPE_DESCRIPTOR_POOL_CREATE_INFO;
+import static org.lwjgl.vulkan.VK10.VK_STRUCTURE_TYPE_DESCRIPTOR_SET_ALLOCATE_INFO;
+import static org.lwjgl.vulkan.VK10.vkAllocateDescriptorSets;
+import static org.lwjgl.vulkan.VK10.vkCreateDescriptorPool;
+import static org.lwjgl.vulkan.VK10.vkDestroyDescriptorPool;
+import static org.lwjgl.vulkan.VK10.vkResetDescriptorPool;
+
+// Sets allocated here live until the pool is reset or closed, so sets that never change can be written once up front
+public class DescriptorPool implements Closeable {
+
+    private final VkDevice device;
+    private final long handle;
+
+    public DescriptorPool(final VkDevice device, final int maxSets, final Map<Integer, Integer> descriptorCountsByType) {
+        this.device = device;
+
+        try (final MemoryStack stack = MemoryStack.stackPush()) {
+            final VkDescriptorPoolSize.Buffer poolSizes = VkDescriptorPoolSize.callocStack(
+                    descriptorCountsByType.size(), stack);
+
+            descriptorCountsByType.forEach((descriptorType, descriptorCount) -> poolSizes.get()
+                    .type(descriptorType)
+                    .descriptorCount(descriptorCount));
+
+            poolSizes.flip();
+
+            final VkDescriptorPoolCreateInfo createInfo = VkDescriptorPoolCreateInfo.callocStack(stack)
+                    .sType(VK_STRUCTURE_TYPE_DESCRIPTOR_POOL_CREATE_INFO)
+                    .maxSets(maxSets)
+                    .pPoolSizes(poolSizes);
+
+            final LongBuffer pPool = stack.mallocLong(1);
+            VulkanResults.check(vkCreateDescriptorPool(device, createInfo, null, pPool), "create descriptor pool");
+
+            handle = pPool.get(0);
+        }
+    }
+
+    public long allocate(final long setLayout) {
+        try (final MemoryStack stack = MemoryStack.stackPush()) {
+            final VkDescriptorSetAllocateInfo allocateInfo = VkDescriptorSetAllocateInfo.callocStack(stack)
+                    .sType(VK_STRUCTURE_TYPE_DESCRIPTOR_SET_ALLOCATE_INFO)
+                    .descriptorPool(handle)
+                    .pSetLayouts(stack.longs(setLayout));
+
+            final LongBuffer pSet = stack.mallocLong(1);
+            VulkanResults.check(vkAllocateDescriptorSets(device, allocateInfo, pSet), "allocate descriptor set");
+
+            return pSet.get(0);
+        }
+    }
+
+    // Frees every set allocated from the pool at once, so none of them may still be in use by the GPU
+    public void reset() {
+        VulkanResults.check(vkResetDescriptorPool(device, handle, 0), "reset descriptor pool");
+    }
+
+    @Override
+    public void close() {
+        vkDestroyDescriptorPool(device, handle, null);
+    }
+}
@@ -0,0 +1,70 @@
+package com.justindriggers.example.renderer.descriptor;
+
+import com.justindriggers.example.renderer.VulkanResults;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.vulkan.VkDescriptorSetLayoutBinding;
+import org.lwjgl.vulkan.VkDescriptorSetLayoutCreateInfo;
+import org.lwjgl.vulkan.VkDevice;
+
+import java.io.Closeable;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.lwjgl.vulkan.VK10.VK_STRUCTURE_TYPE_DESCRIPTOR_SET_LAYOUT_CREATE_INFO;
+import static org.lwjgl.vulkan.VK10.vkCreateDescriptorSetLayout;
+import static org.lwjgl.vulkan.VK10.vkDestroyDescriptorSetLayout;
+
+// Layouts live as long as the device, so pipelines rebuilt later reuse the handles created for the first ones
+public class DescriptorSetLayoutCache implements Closeable {
+
+    private final VkDevice device;
+    private final Map<List<DescriptorBinding>, Long> layouts = new HashMap<>();
+
+    public DescriptorSetLayoutCache(final VkDevice device) {
+        this.device = device;
+    }
+
+    public long getOrCreate(final List<DescriptorBinding> bindings) {
+        return layouts.computeIfAbsent(new ArrayList<>(bindings), this::createLayout);
+    }
+
+    public int size() {
+        return layouts.size();
+    }
+
+    @Override
+    public void close() {
+        layouts.values().forEach(layout -> vkDestroyDescriptorSetLayout(device, layout, null));
+        layouts.clear();
+    }
+
+    private long createLayout(final List<DescriptorBinding> bindings) {
+        try (final MemoryStack stack = MemoryStack.stackPush()) {
+            final VkDescriptorSetLayoutBinding.Buffer layoutBindings = VkDescriptorSetLayoutBinding.callocStack(
+                    bindings.size(), stack);
+
+            for (int i = 0; i < bindings.size(); i++) {
+                final DescriptorBinding binding = bindings.get(i);
+
+                layoutBindings.get(i)
+                        .binding(binding.getBinding())
+                        .descriptorType(binding.getDescriptorType())
+                        .descriptorCount(binding.getDescriptorCount())
+                        .stageFlags(binding.getStageFlags());
+            }
+
+            final VkDescriptorSetLayoutCreateInfo createInfo = VkDescriptorSetLayoutCreateInfo.callocStack(stack)
+                    .sType(VK_STRUCTURE_TYPE_DESCRIPTOR_SET_LAYOUT_CREATE_INFO)
+                    .pBindings(layoutBindings);
+
+            final LongBuffer pLayout = stack.mallocLong(1);
+            VulkanResults.check(vkCreateDescriptorSetLayout(device, createInfo, null, pLayout),
+                    "create descriptor set layout");
+
+            return pLayout.get(0);
+        }
+    }
+}
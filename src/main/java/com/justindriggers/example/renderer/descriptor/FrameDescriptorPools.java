@@ -0,0 +1,43 @@
+package com.justindriggers.example.renderer.descriptor;
+
+import org.lwjgl.vulkan.VkDevice;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+// A descriptor pool per in-flight frame. Sets are allocated for a single frame and all of them are returned at once
+// by resetting the pool, instead of being freed individually.
+public class FrameDescriptorPools implements Closeable {
+
+    private final List<DescriptorPool> pools;
+
+    private DescriptorPool currentPool;
+
+    public FrameDescriptorPools(final VkDevice device, final int frameSlotCount, final int maxSetsPerFrame,
+                                final Map<Integer, Integer> descriptorCountsByType) {
+        pools = IntStream.range(0, frameSlotCount)
+                .mapToObj(i -> new DescriptorPool(device, maxSetsPerFrame, descriptorCountsByType))
+                .collect(Collectors.toList());
+
+        currentPool = pools.get(0);
+    }
+
+    // Frees every set allocated from the slot, so the slot's previous submission must have completed
+    public void beginFrame(final int frameSlot) {
+        currentPool = pools.get(frameSlot);
+        currentPool.reset();
+    }
+
+    public long allocate(final long setLayout) {
+        return currentPool.allocate(setLayout);
+    }
+
+    @Override
+    public void close() {
+        pools.forEach(DescriptorPool::close);
+        pools.clear();
+    }
+}
@@ -6,6 +6,7 @@ import com.justindriggers.vulkan.queue.QueueFamily;
 import com.justindriggers.vulkan.surface.Surface;
 
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Optional;
 import java.util.Set;
 
@@ -14,23 +15,34 @@ public class PhysicalDeviceMetadata {
     private final PhysicalDevice physicalDevice;
     private final QueueFamily graphicsQueueFamily;
     private final QueueFamily presentationQueueFamily;
+    private final boolean requiresPresentation;
+
+    // For offline rendering, where nothing is presented and any graphics-capable device will do
+    public PhysicalDeviceMetadata(final PhysicalDevice physicalDevice) {
+        this(physicalDevice, null);
+    }
 
     public PhysicalDeviceMetadata(final PhysicalDevice physicalDevice, final Surface surface) {
         this.physicalDevice = physicalDevice;
+        this.requiresPresentation = surface != null;
 
         final Set<QueueFamily> queueFamilies = Optional.ofNullable(physicalDevice.getQueueFamilies())
                 .orElseGet(Collections::emptySet);
 
+        // Prefer a family that can also run compute work, so compute dispatches can be recorded into the same command
+        // buffers as the draws that consume their results without any queue ownership transfers
         graphicsQueueFamily = queueFamilies.stream()
                 .filter(queueFamily -> queueFamily.getQueueCount() > 0)
                 .filter(queueFamily -> queueFamily.getCapabilities().contains(QueueCapability.GRAPHICS))
-                .findFirst()
+                .min(Comparator.comparing(queueFamily ->
+                        !queueFamily.getCapabilities().contains(QueueCapability.COMPUTE)))
                 .orElse(null);
 
-        presentationQueueFamily = queueFamilies.stream()
-                .filter(queueFamily -> queueFamily.getQueueCount() > 0)
-                .filter(queueFamily -> queueFamily.supportsSurfacePresentation(surface))
-                .findFirst()
+        presentationQueueFamily = Optional.ofNullable(surface)
+                .flatMap(presentationSurface -> queueFamilies.stream()
+                        .filter(queueFamily -> queueFamily.getQueueCount() > 0)
+                        .filter(queueFamily -> queueFamily.supportsSurfacePresentation(presentationSurface))
+                        .findFirst())
                 .orElse(null);
     }
 
@@ -46,12 +58,17 @@ public class PhysicalDeviceMetadata {
         return presentationQueueFamily;
     }
 
+    public boolean supportsGraphicsQueueCompute() {
+        return graphicsQueueFamily != null && graphicsQueueFamily.getCapabilities().contains(QueueCapability.COMPUTE);
+    }
+
     public int calculateScore() {
         int result = 1;
 
-        if (graphicsQueueFamily == null || presentationQueueFamily == null) {
+        if (graphicsQueueFamily == null || (requiresPresentation && presentationQueueFamily == null)) {
             result = 0; // Incompatible for this demo
-        } else if (graphicsQueueFamily.getIndex() == presentationQueueFamily.getIndex()) {
+        } else if (presentationQueueFamily != null
+                && graphicsQueueFamily.getIndex() == presentationQueueFamily.getIndex()) {
             result += 1; // Prefer when the graphics queue family supports presentation
         }
 
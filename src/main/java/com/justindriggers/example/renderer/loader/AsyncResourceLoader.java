@@ -0,0 +1,188 @@
+package com.justindriggers.example.renderer.loader;
+
+import java.io.Closeable;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class AsyncResourceLoader implements Closeable {
+
+    private static final Logger LOGGER = Logger.getLogger(AsyncResourceLoader.class.getName());
+
+    private static final int READ_CHUNK_SIZE = 64 * 1024;
+    private static final long CLOSE_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(5);
+    private static final long CLOSE_POLL_MILLIS = 10L;
+
+    private final ExecutorService workers;
+
+    // Worker threads take a permit before publishing to the queue, so a full queue applies back pressure to loading
+    // rather than letting completed-but-unconsumed resources pile up
+    private final Queue<Runnable> uploadQueue = new ConcurrentLinkedQueue<>();
+    private final Semaphore uploadQueuePermits;
+
+    public AsyncResourceLoader(final int workerCount, final int uploadQueueCapacity) {
+        final AtomicInteger threadCounter = new AtomicInteger(0);
+
+        final ThreadFactory threadFactory = runnable -> {
+            final Thread thread = new Thread(runnable, "resource-loader-" + threadCounter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        workers = Executors.newFixedThreadPool(workerCount, threadFactory);
+        uploadQueuePermits = new Semaphore(uploadQueueCapacity);
+    }
+
+    // Runs backgroundWork on a worker thread and renderThreadWork on the thread calling drain(), which is also where
+    // the returned future completes. Native resources should only be created by renderThreadWork, since a load that
+    // never reaches the render thread drops whatever backgroundWork produced.
+    public <T, R> CompletableFuture<R> submit(final Callable<T> backgroundWork,
+                                              final Function<T, R> renderThreadWork) {
+        final CompletableFuture<R> result = new CompletableFuture<>();
+
+        workers.execute(() -> {
+            Runnable upload;
+
+            try {
+                final T loaded = backgroundWork.call();
+                upload = () -> {
+                    try {
+                        result.complete(renderThreadWork.apply(loaded));
+                    } catch (final Throwable t) {
+                        result.completeExceptionally(t);
+                    }
+                };
+            } catch (final Throwable t) {
+                // Errors too, or the future would never complete and its caller would wait on it forever
+                upload = () -> result.completeExceptionally(t);
+            }
+
+            try {
+                uploadQueuePermits.acquire();
+                uploadQueue.add(upload);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                result.cancel(false);
+            }
+        });
+
+        return result;
+    }
+
+    // Reads a classpath resource on a worker thread, memory mapping it when it lives on the file system
+    public <R> CompletableFuture<R> load(final String resourceName, final Function<ByteBuffer, R> renderThreadWork) {
+        return submit(() -> readResource(resourceName), renderThreadWork);
+    }
+
+    // Runs queued uploads on the calling thread until the queue is empty or the time budget is spent.
+    // At least one upload runs per call, so a single slow upload can't starve the queue.
+    public int drain(final long budgetNanos) {
+        final long deadline = System.nanoTime() + budgetNanos;
+
+        int result = 0;
+        Runnable upload;
+
+        while ((result == 0 || System.nanoTime() < deadline) && (upload = uploadQueue.poll()) != null) {
+            uploadQueuePermits.release();
+            upload.run();
+
+            result++;
+        }
+
+        return result;
+    }
+
+    public int getPendingUploadCount() {
+        return uploadQueue.size();
+    }
+
+    // Lets loads already started finish rather than interrupting them, and keeps draining while they do, since a
+    // worker blocked on a full upload queue can't otherwise finish. Every completed future can then be disposed of
+    // by its caller.
+    @Override
+    public void close() {
+        workers.shutdown();
+
+        final long deadline = System.nanoTime() + CLOSE_TIMEOUT_NANOS;
+
+        try {
+            while (!workers.awaitTermination(CLOSE_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                drainAll();
+
+                if (System.nanoTime() - deadline >= 0) {
+                    LOGGER.log(Level.WARNING, "Resource loader workers did not terminate");
+                    break;
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        drainAll();
+    }
+
+    private void drainAll() {
+        Runnable upload;
+
+        while ((upload = uploadQueue.poll()) != null) {
+            uploadQueuePermits.release();
+            upload.run();
+        }
+    }
+
+    private static ByteBuffer readResource(final String resourceName) throws IOException {
+        final URL url = AsyncResourceLoader.class.getClassLoader().getResource(resourceName);
+
+        if (url == null) {
+            throw new FileNotFoundException("Unable to find resource " + resourceName);
+        }
+
+        final ByteBuffer result;
+
+        if ("file".equals(url.getProtocol())) {
+            try (final FileChannel channel = FileChannel.open(Paths.get(url.toURI()), StandardOpenOption.READ)) {
+                result = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            } catch (final URISyntaxException e) {
+                throw new IOException("Invalid resource location " + url, e);
+            }
+        } else {
+            try (final InputStream inputStream = url.openStream();
+                 final ReadableByteChannel channel = Channels.newChannel(inputStream)) {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(READ_CHUNK_SIZE);
+
+                while (channel.read(buffer) >= 0) {
+                    if (!buffer.hasRemaining()) {
+                        buffer.flip();
+                        buffer = ByteBuffer.allocateDirect(buffer.capacity() * 2).put(buffer);
+                    }
+                }
+
+                buffer.flip();
+                result = buffer;
+            }
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,105 @@
+package com.justindriggers.example.renderer.memory;
+
+import com.justindriggers.example.renderer.VulkanResults;
+import org.lwjgl.PointerBuffer;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.vulkan.VkBufferCreateInfo;
+import org.lwjgl.vulkan.VkDevice;
+import org.lwjgl.vulkan.VkMemoryAllocateInfo;
+import org.lwjgl.vulkan.VkMemoryRequirements;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+
+import static org.lwjgl.system.MemoryUtil.memByteBuffer;
+import static org.lwjgl.vulkan.VK10.VK_MEMORY_PROPERTY_HOST_VISIBLE_BIT;
+import static org.lwjgl.vulkan.VK10.VK_SHARING_MODE_EXCLUSIVE;
+import static org.lwjgl.vulkan.VK10.VK_STRUCTURE_TYPE_BUFFER_CREATE_INFO;
+import static org.lwjgl.vulkan.VK10.VK_STRUCTURE_TYPE_MEMORY_ALLOCATE_INFO;
+import static org.lwjgl.vulkan.VK10.vkAllocateMemory;
+import static org.lwjgl.vulkan.VK10.vkBindBufferMemory;
+import static org.lwjgl.vulkan.VK10.vkCreateBuffer;
+import static org.lwjgl.vulkan.VK10.vkDestroyBuffer;
+import static org.lwjgl.vulkan.VK10.vkFreeMemory;
+import static org.lwjgl.vulkan.VK10.vkGetBufferMemoryRequirements;
+import static org.lwjgl.vulkan.VK10.vkMapMemory;
+import static org.lwjgl.vulkan.VK10.vkUnmapMemory;
+
+// A buffer with its own dedicated allocation. Host-visible allocations stay mapped for their whole lifetime.
+public class BufferAllocation implements Closeable {
+
+    private final VkDevice device;
+    private final long buffer;
+    private final long memory;
+    private final long allocationSize;
+    private final ByteBuffer mappedMemory;
+
+    public BufferAllocation(final VkDevice device, final int size, final int usage, final int memoryProperties) {
+        this.device = device;
+
+        try (final MemoryStack stack = MemoryStack.stackPush()) {
+            final VkBufferCreateInfo bufferCreateInfo = VkBufferCreateInfo.callocStack(stack)
+                    .sType(VK_STRUCTURE_TYPE_BUFFER_CREATE_INFO)
+                    .size(size)
+                    .usage(usage)
+                    .sharingMode(VK_SHARING_MODE_EXCLUSIVE);
+
+            final LongBuffer pBuffer = stack.mallocLong(1);
+            VulkanResults.check(vkCreateBuffer(device, bufferCreateInfo, null, pBuffer), "create buffer");
+            buffer = pBuffer.get(0);
+
+            final VkMemoryRequirements memoryRequirements = VkMemoryRequirements.mallocStack(stack);
+            vkGetBufferMemoryRequirements(device, buffer, memoryRequirements);
+
+            allocationSize = memoryRequirements.size();
+
+            final VkMemoryAllocateInfo memoryAllocateInfo = VkMemoryAllocateInfo.callocStack(stack)
+                    .sType(VK_STRUCTURE_TYPE_MEMORY_ALLOCATE_INFO)
+                    .allocationSize(allocationSize)
+                    .memoryTypeIndex(MemoryTypes.find(device.getPhysicalDevice(),
+                            memoryRequirements.memoryTypeBits(), memoryProperties));
+
+            final LongBuffer pMemory = stack.mallocLong(1);
+            VulkanResults.check(vkAllocateMemory(device, memoryAllocateInfo, null, pMemory), "allocate buffer memory");
+            memory = pMemory.get(0);
+
+            VulkanResults.check(vkBindBufferMemory(device, buffer, memory, 0L), "bind buffer memory");
+
+            if ((memoryProperties & VK_MEMORY_PROPERTY_HOST_VISIBLE_BIT) != 0) {
+                final PointerBuffer pData = stack.mallocPointer(1);
+                VulkanResults.check(vkMapMemory(device, memory, 0L, size, 0, pData), "map buffer memory");
+                mappedMemory = memByteBuffer(pData.get(0), size);
+            } else {
+                mappedMemory = null;
+            }
+        }
+    }
+
+    public long getBuffer() {
+        return buffer;
+    }
+
+    public long getAllocationSize() {
+        return allocationSize;
+    }
+
+    // Only available for host-visible allocations
+    public ByteBuffer getMappedMemory() {
+        if (mappedMemory == null) {
+            throw new IllegalStateException("Buffer memory is not host visible");
+        }
+
+        return mappedMemory;
+    }
+
+    @Override
+    public void close() {
+        if (mappedMemory != null) {
+            vkUnmapMemory(device, memory);
+        }
+
+        vkDestroyBuffer(device, buffer, null);
+        vkFreeMemory(device, memory, null);
+    }
+}
@@ -0,0 +1,123 @@
+package com.justindriggers.example.renderer.memory;
+
+import com.justindriggers.example.renderer.VulkanResults;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.vulkan.VkDevice;
+import org.lwjgl.vulkan.VkImageCreateInfo;
+import org.lwjgl.vulkan.VkImageViewCreateInfo;
+import org.lwjgl.vulkan.VkMemoryAllocateInfo;
+import org.lwjgl.vulkan.VkMemoryRequirements;
+
+import java.io.Closeable;
+import java.nio.LongBuffer;
+
+import static org.lwjgl.vulkan.VK10.VK_IMAGE_ASPECT_COLOR_BIT;
+import static org.lwjgl.vulkan.VK10.VK_IMAGE_LAYOUT_UNDEFINED;
+import static org.lwjgl.vulkan.VK10.VK_IMAGE_TILING_OPTIMAL;
+import static org.lwjgl.vulkan.VK10.VK_IMAGE_TYPE_2D;
+import static org.lwjgl.vulkan.VK10.VK_IMAGE_VIEW_TYPE_2D;
+import static org.lwjgl.vulkan.VK10.VK_MEMORY_PROPERTY_DEVICE_LOCAL_BIT;
+import static org.lwjgl.vulkan.VK10.VK_SAMPLE_COUNT_1_BIT;
+import static org.lwjgl.vulkan.VK10.VK_SHARING_MODE_EXCLUSIVE;
+import static org.lwjgl.vulkan.VK10.VK_STRUCTURE_TYPE_IMAGE_CREATE_INFO;
+import static org.lwjgl.vulkan.VK10.VK_STRUCTURE_TYPE_IMAGE_VIEW_CREATE_INFO;
+import static org.lwjgl.vulkan.VK10.VK_STRUCTURE_TYPE_MEMORY_ALLOCATE_INFO;
+import static org.lwjgl.vulkan.VK10.vkAllocateMemory;
+import static org.lwjgl.vulkan.VK10.vkBindImageMemory;
+import static org.lwjgl.vulkan.VK10.vkCreateImage;
+import static org.lwjgl.vulkan.VK10.vkCreateImageView;
+import static org.lwjgl.vulkan.VK10.vkDestroyImage;
+import static org.lwjgl.vulkan.VK10.vkDestroyImageView;
+import static org.lwjgl.vulkan.VK10.vkFreeMemory;
+import static org.lwjgl.vulkan.VK10.vkGetImageMemoryRequirements;
+
+// A single-sample 2D color image in device-local memory, with a dedicated allocation and a view over all of it
+public class ImageAllocation implements Closeable {
+
+    private final VkDevice device;
+    private final long image;
+    private final long memory;
+    private final long imageView;
+    private final long allocationSize;
+
+    public ImageAllocation(final VkDevice device, final int width, final int height, final int format,
+                           final int usage) {
+        this.device = device;
+
+        try (final MemoryStack stack = MemoryStack.stackPush()) {
+            final VkImageCreateInfo imageCreateInfo = VkImageCreateInfo.callocStack(stack)
+                    .sType(VK_STRUCTURE_TYPE_IMAGE_CREATE_INFO)
+                    .imageType(VK_IMAGE_TYPE_2D)
+                    .format(format)
+                    .mipLevels(1)
+                    .arrayLayers(1)
+                    .samples(VK_SAMPLE_COUNT_1_BIT)
+                    .tiling(VK_IMAGE_TILING_OPTIMAL)
+                    .usage(usage)
+                    .sharingMode(VK_SHARING_MODE_EXCLUSIVE)
+                    .initialLayout(VK_IMAGE_LAYOUT_UNDEFINED);
+
+            imageCreateInfo.extent()
+                    .width(width)
+                    .height(height)
+                    .depth(1);
+
+            final LongBuffer pImage = stack.mallocLong(1);
+            VulkanResults.check(vkCreateImage(device, imageCreateInfo, null, pImage), "create image");
+            image = pImage.get(0);
+
+            final VkMemoryRequirements memoryRequirements = VkMemoryRequirements.mallocStack(stack);
+            vkGetImageMemoryRequirements(device, image, memoryRequirements);
+
+            allocationSize = memoryRequirements.size();
+
+            final VkMemoryAllocateInfo memoryAllocateInfo = VkMemoryAllocateInfo.callocStack(stack)
+                    .sType(VK_STRUCTURE_TYPE_MEMORY_ALLOCATE_INFO)
+                    .allocationSize(allocationSize)
+                    .memoryTypeIndex(MemoryTypes.find(device.getPhysicalDevice(),
+                            memoryRequirements.memoryTypeBits(), VK_MEMORY_PROPERTY_DEVICE_LOCAL_BIT));
+
+            final LongBuffer pMemory = stack.mallocLong(1);
+            VulkanResults.check(vkAllocateMemory(device, memoryAllocateInfo, null, pMemory), "allocate image memory");
+            memory = pMemory.get(0);
+
+            VulkanResults.check(vkBindImageMemory(device, image, memory, 0L), "bind image memory");
+
+            final VkImageViewCreateInfo imageViewCreateInfo = VkImageViewCreateInfo.callocStack(stack)
+                    .sType(VK_STRUCTURE_TYPE_IMAGE_VIEW_CREATE_INFO)
+                    .image(image)
+                    .viewType(VK_IMAGE_VIEW_TYPE_2D)
+                    .format(format);
+
+            imageViewCreateInfo.subresourceRange()
+                    .aspectMask(VK_IMAGE_ASPECT_COLOR_BIT)
+                    .baseMipLevel(0)
+                    .levelCount(1)
+                    .baseArrayLayer(0)
+                    .layerCount(1);
+
+            final LongBuffer pImageView = stack.mallocLong(1);
+            VulkanResults.check(vkCreateImageView(device, imageViewCreateInfo, null, pImageView), "create image view");
+            imageView = pImageView.get(0);
+        }
+    }
+
+    public long getImage() {
+        return image;
+    }
+
+    public long getImageView() {
+        return imageView;
+    }
+
+    public long getAllocationSize() {
+        return allocationSize;
+    }
+
+    @Override
+    public void close() {
+        vkDestroyImageView(device, imageView, null);
+        vkDestroyImage(device, image, null);
+        vkFreeMemory(device, memory, null);
+    }
+}
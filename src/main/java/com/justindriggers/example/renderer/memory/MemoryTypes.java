@@ -0,0 +1,37 @@
+package com.justindriggers.example.renderer.memory;
+
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.vulkan.VkPhysicalDevice;
+import org.lwjgl.vulkan.VkPhysicalDeviceMemoryProperties;
+
+import static org.lwjgl.vulkan.VK10.vkGetPhysicalDeviceMemoryProperties;
+
+public final class MemoryTypes {
+
+    private MemoryTypes() {
+    }
+
+    // Returns the first memory type allowed by typeBits that has every required property flag
+    public static int find(final VkPhysicalDevice physicalDevice, final int typeBits, final int requiredProperties) {
+        int result = -1;
+
+        try (final MemoryStack stack = MemoryStack.stackPush()) {
+            final VkPhysicalDeviceMemoryProperties memoryProperties = VkPhysicalDeviceMemoryProperties.mallocStack(stack);
+            vkGetPhysicalDeviceMemoryProperties(physicalDevice, memoryProperties);
+
+            for (int i = 0; i < memoryProperties.memoryTypeCount() && result < 0; i++) {
+                if ((typeBits & (1 << i)) != 0
+                        && (memoryProperties.memoryTypes(i).propertyFlags() & requiredProperties) == requiredProperties) {
+                    result = i;
+                }
+            }
+        }
+
+        if (result < 0) {
+            throw new IllegalStateException(String.format("Unable to find memory type with properties 0x%x",
+                    requiredProperties));
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,10 @@
+package com.justindriggers.example.renderer.offline;
+
+import java.nio.ByteBuffer;
+
+@FunctionalInterface
+public interface FrameConsumer {
+
+    // The pixels are only valid for the duration of the call, since the target is reused by a later batch
+    void accept(final int frameNumber, final ByteBuffer pixels);
+}
@@ -0,0 +1,328 @@
+package com.justindriggers.example.renderer.offline;
+
+import com.justindriggers.example.renderer.descriptor.DescriptorPool;
+import com.justindriggers.example.renderer.descriptor.DescriptorSetLayoutCache;
+import com.justindriggers.example.renderer.device.PhysicalDeviceMetadata;
+import com.justindriggers.example.renderer.loader.AsyncResourceLoader;
+import com.justindriggers.example.renderer.memory.BufferAllocation;
+import com.justindriggers.example.renderer.pipeline.GraphicsPipelineBuilder;
+import com.justindriggers.example.renderer.pipeline.RenderPasses;
+import com.justindriggers.example.renderer.pipeline.ShaderModules;
+import com.justindriggers.example.renderer.pipeline.TrianglePipeline;
+import com.justindriggers.example.renderer.resource.ResourceTracker;
+import com.justindriggers.example.renderer.uniform.PushConstantBlock;
+import com.justindriggers.vulkan.command.CommandBuffer;
+import com.justindriggers.vulkan.command.CommandPool;
+import com.justindriggers.vulkan.command.commands.EndRenderPassCommand;
+import com.justindriggers.vulkan.command.models.CommandBufferLevel;
+import com.justindriggers.vulkan.command.models.CommandPoolCreateFlag;
+import com.justindriggers.vulkan.devices.logical.LogicalDevice;
+import com.justindriggers.vulkan.devices.physical.PhysicalDevice;
+import com.justindriggers.vulkan.instance.VulkanInstance;
+import com.justindriggers.vulkan.models.pointers.Disposable;
+import com.justindriggers.vulkan.queue.Queue;
+import com.justindriggers.vulkan.queue.QueueFamily;
+import com.justindriggers.vulkan.synchronize.Fence;
+import com.justindriggers.vulkan.synchronize.models.FenceCreationFlag;
+import org.lwjgl.vulkan.VkCommandBuffer;
+import org.lwjgl.vulkan.VkDevice;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.lwjgl.vulkan.VK10.VK_BUFFER_USAGE_UNIFORM_BUFFER_BIT;
+import static org.lwjgl.vulkan.VK10.VK_DESCRIPTOR_TYPE_UNIFORM_BUFFER_DYNAMIC;
+import static org.lwjgl.vulkan.VK10.VK_MEMORY_PROPERTY_HOST_COHERENT_BIT;
+import static org.lwjgl.vulkan.VK10.VK_MEMORY_PROPERTY_HOST_VISIBLE_BIT;
+import static org.lwjgl.vulkan.VK10.vkDestroyPipeline;
+import static org.lwjgl.vulkan.VK10.vkDestroyPipelineLayout;
+import static org.lwjgl.vulkan.VK10.vkDestroyRenderPass;
+import static org.lwjgl.vulkan.VK10.vkDestroyShaderModule;
+
+public class OfflineRenderer implements Closeable {
+
+    private static final Logger LOGGER = Logger.getLogger(OfflineRenderer.class.getName());
+
+    // One batch renders on the GPU while the other is read back on the CPU
+    private static final int BATCH_COUNT = 2;
+    private static final int SHADER_COUNT = 2;
+
+    private final ResourceTracker resourceTracker = new ResourceTracker();
+
+    private final LogicalDevice device;
+    private final VkDevice deviceHandle;
+    private final Queue graphicsQueue;
+
+    private final CommandPool commandPool;
+
+    private final int width;
+    private final int height;
+    private final long renderPass;
+
+    // The scene is static, so a single descriptor set over a single uniform buffer serves every frame
+    private final DescriptorSetLayoutCache descriptorSetLayoutCache;
+    private final DescriptorPool descriptorPool;
+    private final BufferAllocation uniforms;
+    private final long descriptorSet;
+    private final PushConstantBlock pushConstants = new PushConstantBlock(TrianglePipeline.PUSH_CONSTANT_SIZE);
+
+    private final long pipelineLayout;
+    private final long graphicsPipeline;
+
+    private final int framesPerBatch;
+    private final List<FrameBatch> batches;
+
+    public OfflineRenderer(final VulkanInstance instance, final int width, final int height,
+                           final int framesPerBatch) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException(String.format("Invalid frame size %dx%d", width, height));
+        }
+
+        if (framesPerBatch <= 0) {
+            throw new IllegalArgumentException("Frames per batch must be positive");
+        }
+
+        this.width = width;
+        this.height = height;
+        this.framesPerBatch = framesPerBatch;
+
+        final List<PhysicalDevice> physicalDevices = Optional.ofNullable(instance.getPhysicalDevices())
+                .orElseGet(Collections::emptyList);
+
+        final PhysicalDeviceMetadata chosenPhysicalDeviceMetadata = physicalDevices.stream()
+                .map(PhysicalDeviceMetadata::new)
+                .filter(metadata -> metadata.calculateScore() > 0)
+                .max(Comparator.comparingInt(PhysicalDeviceMetadata::calculateScore))
+                .orElseThrow(() -> new IllegalStateException("Unable to find suitable physical device"));
+
+        final QueueFamily graphicsQueueFamily = chosenPhysicalDeviceMetadata.getGraphicsQueueFamily();
+
+        final List<Float> queuePriorities = IntStream.range(0, graphicsQueueFamily.getQueueCount())
+                .mapToObj(i -> 1.0f)
+                .collect(Collectors.toList());
+
+        // Nothing is presented, so the swapchain extension isn't needed
+        device = resourceTracker.track(new LogicalDevice(chosenPhysicalDeviceMetadata.getPhysicalDevice(),
+                Collections.singletonMap(graphicsQueueFamily, queuePriorities), Collections.emptySet()));
+
+        graphicsQueue = device.getQueue(graphicsQueueFamily, 0);
+
+        deviceHandle = device.unwrap();
+
+        commandPool = resourceTracker.track(new CommandPool(device, graphicsQueueFamily,
+                CommandPoolCreateFlag.RESET_COMMAND_BUFFER));
+
+        renderPass = resourceTracker.trackHandle("VkRenderPass", OffscreenTarget.createRenderPass(deviceHandle));
+
+        descriptorSetLayoutCache = resourceTracker.track(new DescriptorSetLayoutCache(deviceHandle));
+        final long descriptorSetLayout = descriptorSetLayoutCache.getOrCreate(TrianglePipeline.DESCRIPTOR_BINDINGS);
+
+        descriptorPool = resourceTracker.track(new DescriptorPool(deviceHandle, 1,
+                Collections.singletonMap(VK_DESCRIPTOR_TYPE_UNIFORM_BUFFER_DYNAMIC, 1)));
+        descriptorSet = descriptorPool.allocate(descriptorSetLayout);
+
+        uniforms = new BufferAllocation(deviceHandle, TrianglePipeline.UNIFORM_SIZE,
+                VK_BUFFER_USAGE_UNIFORM_BUFFER_BIT,
+                VK_MEMORY_PROPERTY_HOST_VISIBLE_BIT | VK_MEMORY_PROPERTY_HOST_COHERENT_BIT);
+        resourceTracker.track(uniforms, uniforms.getAllocationSize());
+
+        TrianglePipeline.putProjection(uniforms.getMappedMemory(), 0, width / (float) height);
+        TrianglePipeline.writeDescriptorSet(deviceHandle, descriptorSet, uniforms.getBuffer());
+        TrianglePipeline.putModel(pushConstants, 0.0f);
+
+        pipelineLayout = resourceTracker.trackHandle("VkPipelineLayout",
+                TrianglePipeline.createPipelineLayout(deviceHandle, descriptorSetLayout));
+
+        final CompletableFuture<Long> vertexShader;
+        final CompletableFuture<Long> fragmentShader;
+
+        // Closing the loader waits for both reads and creates the modules on this thread
+        try (final AsyncResourceLoader resourceLoader = new AsyncResourceLoader(SHADER_COUNT, SHADER_COUNT)) {
+            vertexShader = resourceLoader.load("triangle.vert.spv", this::createShaderModule);
+            fragmentShader = resourceLoader.load("triangle.frag.spv", this::createShaderModule);
+        }
+
+        // The modules are only needed to build the pipeline
+        try {
+            graphicsPipeline = resourceTracker.trackHandle("VkPipeline",
+                    TrianglePipeline.createGraphicsPipeline(deviceHandle, vertexShader.join(), fragmentShader.join(),
+                            renderPass, pipelineLayout));
+        } finally {
+            Stream.of(vertexShader, fragmentShader)
+                    .filter(shader -> shader.isDone() && !shader.isCompletedExceptionally())
+                    .map(CompletableFuture::join)
+                    .forEach(this::destroyShaderModule);
+        }
+
+        batches = IntStream.range(0, BATCH_COUNT)
+                .mapToObj(i -> new FrameBatch())
+                .collect(Collectors.toList());
+    }
+
+    // Returns the measured throughput in frames per second
+    public double render(final int frameCount, final FrameConsumer frameConsumer) {
+        final long start = System.nanoTime();
+
+        FrameBatch previousBatch = null;
+        int submittedFrameCount = 0;
+
+        for (int batchIndex = 0; submittedFrameCount < frameCount; batchIndex++) {
+            final FrameBatch batch = batches.get(batchIndex % batches.size());
+            final int batchFrameCount = Math.min(framesPerBatch, frameCount - submittedFrameCount);
+
+            batch.submit(submittedFrameCount, batchFrameCount);
+            submittedFrameCount += batchFrameCount;
+
+            // Read the previous batch back while the GPU works on the one just submitted
+            if (previousBatch != null) {
+                previousBatch.readBack(frameConsumer);
+            }
+
+            previousBatch = batch;
+        }
+
+        if (previousBatch != null) {
+            previousBatch.readBack(frameConsumer);
+        }
+
+        final double elapsedSeconds = (System.nanoTime() - start) / (double) TimeUnit.SECONDS.toNanos(1);
+        final double result = elapsedSeconds > 0.0 ? frameCount / elapsedSeconds : 0.0;
+
+        LOGGER.log(Level.INFO, () -> String.format("Rendered %d frames in %.3fs (%.1f frames/sec)",
+                frameCount, elapsedSeconds, result));
+
+        return result;
+    }
+
+    @Override
+    public void close() throws IOException {
+        Optional.ofNullable(device).ifPresent(LogicalDevice::waitIdle);
+
+        Optional.ofNullable(batches)
+                .orElseGet(Collections::emptyList)
+                .forEach(FrameBatch::close);
+
+        vkDestroyPipeline(deviceHandle, graphicsPipeline, null);
+        resourceTracker.releaseHandle("VkPipeline", graphicsPipeline);
+
+        vkDestroyPipelineLayout(deviceHandle, pipelineLayout, null);
+        resourceTracker.releaseHandle("VkPipelineLayout", pipelineLayout);
+
+        Stream.of(uniforms, descriptorPool, descriptorSetLayoutCache)
+                .filter(Objects::nonNull)
+                .forEachOrdered(resourceTracker::dispose);
+
+        vkDestroyRenderPass(deviceHandle, renderPass, null);
+        resourceTracker.releaseHandle("VkRenderPass", renderPass);
+
+        Stream.of(commandPool, device)
+                .filter(Objects::nonNull)
+                .map(Disposable.class::cast)
+                .forEachOrdered(resourceTracker::dispose);
+
+        resourceTracker.reportLeaks();
+    }
+
+    private long createShaderModule(final ByteBuffer code) {
+        return resourceTracker.trackHandle("VkShaderModule", ShaderModules.create(deviceHandle, code));
+    }
+
+    private void destroyShaderModule(final long shaderModule) {
+        vkDestroyShaderModule(deviceHandle, shaderModule, null);
+        resourceTracker.releaseHandle("VkShaderModule", shaderModule);
+    }
+
+    private class FrameBatch implements Closeable {
+
+        private final List<OffscreenTarget> targets;
+        private final List<CommandBuffer> commandBuffers;
+        private final Fence fence;
+
+        private int firstFrameNumber;
+        private int frameCount;
+
+        FrameBatch() {
+            targets = IntStream.range(0, framesPerBatch)
+                    .mapToObj(i -> new OffscreenTarget(deviceHandle, renderPass, width, height))
+                    .map(target -> resourceTracker.track(target, target.getAllocationSize()))
+                    .collect(Collectors.toList());
+
+            commandBuffers = commandPool.createCommandBuffers(CommandBufferLevel.PRIMARY, framesPerBatch);
+            commandBuffers.forEach(resourceTracker::track);
+
+            // The scene is static, so every frame's commands are recorded once up front
+            IntStream.range(0, framesPerBatch)
+                    .forEach(i -> {
+                        final CommandBuffer commandBuffer = commandBuffers.get(i);
+                        final VkCommandBuffer commandBufferHandle = commandBuffer.unwrap();
+                        final OffscreenTarget target = targets.get(i);
+
+                        commandBuffer.begin();
+
+                        try {
+                            RenderPasses.recordBegin(commandBufferHandle, renderPass, target.getFramebuffer(),
+                                    width, height);
+
+                            GraphicsPipelineBuilder.recordViewport(commandBufferHandle, width, height);
+                            TrianglePipeline.recordDraw(commandBuffer, graphicsPipeline, pipelineLayout,
+                                    descriptorSet, 0, pushConstants);
+
+                            commandBuffer.submit(new EndRenderPassCommand());
+                            target.recordReadback(commandBufferHandle);
+                        } finally {
+                            commandBuffer.end();
+                        }
+                    });
+
+            fence = resourceTracker.track(new Fence(device, FenceCreationFlag.SIGNALED));
+        }
+
+        void submit(final int firstFrameNumber, final int frameCount) {
+            // Only waits if this batch's previous contents were never read back
+            fence.waitForSignal();
+            fence.reset();
+
+            this.firstFrameNumber = firstFrameNumber;
+            this.frameCount = frameCount;
+
+            graphicsQueue.submit(
+                    Collections.emptyList(),
+                    Collections.emptyList(),
+                    new LinkedHashSet<>(commandBuffers.subList(0, frameCount)),
+                    Collections.emptySet(),
+                    fence
+            );
+        }
+
+        void readBack(final FrameConsumer frameConsumer) {
+            fence.waitForSignal();
+
+            IntStream.range(0, frameCount)
+                    .forEach(i -> frameConsumer.accept(firstFrameNumber + i, targets.get(i).getPixels()));
+        }
+
+        @Override
+        public void close() {
+            commandPool.destroyCommandBuffers(commandBuffers);
+            commandBuffers.forEach(resourceTracker::release);
+
+            targets.forEach(resourceTracker::dispose);
+
+            resourceTracker.dispose(fence);
+        }
+    }
+}
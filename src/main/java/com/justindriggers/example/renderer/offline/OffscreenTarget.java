@@ -0,0 +1,131 @@
+package com.justindriggers.example.renderer.offline;
+
+import com.justindriggers.example.renderer.memory.BufferAllocation;
+import com.justindriggers.example.renderer.memory.ImageAllocation;
+import com.justindriggers.example.renderer.pipeline.RenderPasses;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.vulkan.VkBufferImageCopy;
+import org.lwjgl.vulkan.VkCommandBuffer;
+import org.lwjgl.vulkan.VkDevice;
+import org.lwjgl.vulkan.VkMemoryBarrier;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+
+import static org.lwjgl.vulkan.VK10.VK_ACCESS_HOST_READ_BIT;
+import static org.lwjgl.vulkan.VK10.VK_ACCESS_TRANSFER_READ_BIT;
+import static org.lwjgl.vulkan.VK10.VK_ACCESS_TRANSFER_WRITE_BIT;
+import static org.lwjgl.vulkan.VK10.VK_BUFFER_USAGE_TRANSFER_DST_BIT;
+import static org.lwjgl.vulkan.VK10.VK_FORMAT_R8G8B8A8_UNORM;
+import static org.lwjgl.vulkan.VK10.VK_IMAGE_ASPECT_COLOR_BIT;
+import static org.lwjgl.vulkan.VK10.VK_IMAGE_LAYOUT_TRANSFER_SRC_OPTIMAL;
+import static org.lwjgl.vulkan.VK10.VK_IMAGE_USAGE_COLOR_ATTACHMENT_BIT;
+import static org.lwjgl.vulkan.VK10.VK_IMAGE_USAGE_TRANSFER_SRC_BIT;
+import static org.lwjgl.vulkan.VK10.VK_MEMORY_PROPERTY_HOST_COHERENT_BIT;
+import static org.lwjgl.vulkan.VK10.VK_MEMORY_PROPERTY_HOST_VISIBLE_BIT;
+import static org.lwjgl.vulkan.VK10.VK_PIPELINE_STAGE_HOST_BIT;
+import static org.lwjgl.vulkan.VK10.VK_PIPELINE_STAGE_TRANSFER_BIT;
+import static org.lwjgl.vulkan.VK10.VK_STRUCTURE_TYPE_MEMORY_BARRIER;
+import static org.lwjgl.vulkan.VK10.vkCmdCopyImageToBuffer;
+import static org.lwjgl.vulkan.VK10.vkCmdPipelineBarrier;
+import static org.lwjgl.vulkan.VK10.vkDestroyFramebuffer;
+
+// A device-local color image to render into, plus a host-visible buffer its pixels are copied into so they can be read
+// without mapping the image itself. Pixels are tightly packed RGBA, 4 bytes each, rows top to bottom.
+public class OffscreenTarget implements Closeable {
+
+    public static final int FORMAT = VK_FORMAT_R8G8B8A8_UNORM;
+    public static final int BYTES_PER_PIXEL = 4;
+
+    private final VkDevice device;
+    private final int width;
+    private final int height;
+
+    private final ImageAllocation image;
+    private final long framebuffer;
+    private final BufferAllocation readbackBuffer;
+
+    public OffscreenTarget(final VkDevice device, final long renderPass, final int width, final int height) {
+        this.device = device;
+        this.width = width;
+        this.height = height;
+
+        image = new ImageAllocation(device, width, height, FORMAT,
+                VK_IMAGE_USAGE_COLOR_ATTACHMENT_BIT | VK_IMAGE_USAGE_TRANSFER_SRC_BIT);
+        framebuffer = RenderPasses.createFramebuffer(device, renderPass, image.getImageView(), width, height);
+        readbackBuffer = new BufferAllocation(device, width * height * BYTES_PER_PIXEL,
+                VK_BUFFER_USAGE_TRANSFER_DST_BIT,
+                VK_MEMORY_PROPERTY_HOST_VISIBLE_BIT | VK_MEMORY_PROPERTY_HOST_COHERENT_BIT);
+    }
+
+    // Every target rendered with the pass is left ready for the readback copy once the pass ends
+    public static long createRenderPass(final VkDevice device) {
+        return RenderPasses.createColorPass(device, FORMAT, VK_IMAGE_LAYOUT_TRANSFER_SRC_OPTIMAL,
+                VK_PIPELINE_STAGE_TRANSFER_BIT, VK_ACCESS_TRANSFER_READ_BIT);
+    }
+
+    public long getFramebuffer() {
+        return framebuffer;
+    }
+
+    public long getAllocationSize() {
+        return image.getAllocationSize() + readbackBuffer.getAllocationSize();
+    }
+
+    // Records the copy into the readback buffer after the render pass has ended. The barrier makes the copy visible to
+    // the host once the submission's fence has signalled.
+    public void recordReadback(final VkCommandBuffer commandBuffer) {
+        try (final MemoryStack stack = MemoryStack.stackPush()) {
+            final VkBufferImageCopy.Buffer regions = VkBufferImageCopy.callocStack(1, stack);
+
+            regions.get(0)
+                    .bufferOffset(0L)
+                    .bufferRowLength(0)
+                    .bufferImageHeight(0);
+
+            regions.get(0).imageSubresource()
+                    .aspectMask(VK_IMAGE_ASPECT_COLOR_BIT)
+                    .mipLevel(0)
+                    .baseArrayLayer(0)
+                    .layerCount(1);
+
+            regions.get(0).imageExtent()
+                    .width(width)
+                    .height(height)
+                    .depth(1);
+
+            vkCmdCopyImageToBuffer(commandBuffer, image.getImage(), VK_IMAGE_LAYOUT_TRANSFER_SRC_OPTIMAL,
+                    readbackBuffer.getBuffer(), regions);
+
+            final VkMemoryBarrier.Buffer memoryBarriers = VkMemoryBarrier.callocStack(1, stack);
+
+            memoryBarriers.get(0)
+                    .sType(VK_STRUCTURE_TYPE_MEMORY_BARRIER)
+                    .srcAccessMask(VK_ACCESS_TRANSFER_WRITE_BIT)
+                    .dstAccessMask(VK_ACCESS_HOST_READ_BIT);
+
+            vkCmdPipelineBarrier(commandBuffer, VK_PIPELINE_STAGE_TRANSFER_BIT, VK_PIPELINE_STAGE_HOST_BIT, 0,
+                    memoryBarriers, null, null);
+        }
+    }
+
+    // Only valid once the submission containing the recorded readback has completed
+    public ByteBuffer getPixels() {
+        return readbackBuffer.getMappedMemory().duplicate();
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public void close() {
+        readbackBuffer.close();
+        vkDestroyFramebuffer(device, framebuffer, null);
+        image.close();
+    }
+}
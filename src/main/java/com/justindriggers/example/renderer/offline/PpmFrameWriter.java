@@ -0,0 +1,48 @@
+package com.justindriggers.example.renderer.offline;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Writes each frame as a binary PPM, which any image viewer can open and which needs no encoder. Alpha is dropped.
+public class PpmFrameWriter implements FrameConsumer {
+
+    private final Path outputDirectory;
+    private final int width;
+    private final int height;
+
+    public PpmFrameWriter(final Path outputDirectory, final int width, final int height) throws IOException {
+        this.outputDirectory = Files.createDirectories(outputDirectory);
+        this.width = width;
+        this.height = height;
+    }
+
+    @Override
+    public void accept(final int frameNumber, final ByteBuffer pixels) {
+        final Path path = outputDirectory.resolve(String.format("frame-%05d.ppm", frameNumber));
+        final byte[] row = new byte[width * 3];
+
+        try (final OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(path))) {
+            outputStream.write(String.format("P6\n%d %d\n255\n", width, height).getBytes(StandardCharsets.US_ASCII));
+
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    final int offset = (y * width + x) * OffscreenTarget.BYTES_PER_PIXEL;
+
+                    row[x * 3] = pixels.get(offset);
+                    row[x * 3 + 1] = pixels.get(offset + 1);
+                    row[x * 3 + 2] = pixels.get(offset + 2);
+                }
+
+                outputStream.write(row);
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.justindriggers.example.renderer.pipeline;
+
+import com.justindriggers.example.renderer.VulkanResults;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.vulkan.VkCommandBuffer;
+import org.lwjgl.vulkan.VkDevice;
+import org.lwjgl.vulkan.VkGraphicsPipelineCreateInfo;
+import org.lwjgl.vulkan.VkPipelineColorBlendAttachmentState;
+import org.lwjgl.vulkan.VkPipelineColorBlendStateCreateInfo;
+import org.lwjgl.vulkan.VkPipelineDynamicStateCreateInfo;
+import org.lwjgl.vulkan.VkPipelineInputAssemblyStateCreateInfo;
+import org.lwjgl.vulkan.VkPipelineMultisampleStateCreateInfo;
+import org.lwjgl.vulkan.VkPipelineRasterizationStateCreateInfo;
+import org.lwjgl.vulkan.VkPipelineShaderStageCreateInfo;
+import org.lwjgl.vulkan.VkPipelineVertexInputStateCreateInfo;
+import org.lwjgl.vulkan.VkPipelineViewportStateCreateInfo;
+import org.lwjgl.vulkan.VkRect2D;
+import org.lwjgl.vulkan.VkVertexInputAttributeDescription;
+import org.lwjgl.vulkan.VkVertexInputBindingDescription;
+import org.lwjgl.vulkan.VkViewport;
+
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.lwjgl.vulkan.VK10.VK_BLEND_FACTOR_ONE;
+import static org.lwjgl.vulkan.VK10.VK_BLEND_FACTOR_ONE_MINUS_SRC_ALPHA;
+import static org.lwjgl.vulkan.VK10.VK_BLEND_FACTOR_SRC_ALPHA;
+import static org.lwjgl.vulkan.VK10.VK_BLEND_FACTOR_ZERO;
+import static org.lwjgl.vulkan.VK10.VK_BLEND_OP_ADD;
+import static org.lwjgl.vulkan.VK10.VK_COLOR_COMPONENT_A_BIT;
+import static org.lwjgl.vulkan.VK10.VK_COLOR_COMPONENT_B_BIT;
+import static org.lwjgl.vulkan.VK10.VK_COLOR_COMPONENT_G_BIT;
+import static org.lwjgl.vulkan.VK10.VK_COLOR_COMPONENT_R_BIT;
+import static org.lwjgl.vulkan.VK10.VK_CULL_MODE_BACK_BIT;
+import static org.lwjgl.vulkan.VK10.VK_DYNAMIC_STATE_SCISSOR;
+import static org.lwjgl.vulkan.VK10.VK_DYNAMIC_STATE_VIEWPORT;
+import static org.lwjgl.vulkan.VK10.VK_FRONT_FACE_CLOCKWISE;
+import static org.lwjgl.vulkan.VK10.VK_NULL_HANDLE;
+import static org.lwjgl.vulkan.VK10.VK_POLYGON_MODE_FILL;
+import static org.lwjgl.vulkan.VK10.VK_PRIMITIVE_TOPOLOGY_TRIANGLE_LIST;
+import static org.lwjgl.vulkan.VK10.VK_SAMPLE_COUNT_1_BIT;
+import static org.lwjgl.vulkan.VK10.VK_SHADER_STAGE_FRAGMENT_BIT;
+import static org.lwjgl.vulkan.VK10.VK_SHADER_STAGE_VERTEX_BIT;
+import static org.lwjgl.vulkan.VK10.VK_STRUCTURE_TYPE_GRAPHICS_PIPELINE_CREATE_INFO;
+import static org.lwjgl.vulkan.VK10.VK_STRUCTURE_TYPE_PIPELINE_COLOR_BLEND_STATE_CREATE_INFO;
+import static org.lwjgl.vulkan.VK10.VK_STRUCTURE_TYPE_PIPELINE_DYNAMIC_STATE_CREATE_INFO;
+import static org.lwjgl.vulkan.VK10.VK_STRUCTURE_TYPE_PIPELINE_INPUT_ASSEMBLY_STATE_CREATE_INFO;
+import static org.lwjgl.vulkan.VK10.VK_STRUCTURE_TYPE_PIPELINE_MULTISAMPLE_STATE_CREATE_INFO;
+import static org.lwjgl.vulkan.VK10.VK_STRUCTURE_TYPE_PIPELINE_RASTERIZATION_STATE_CREATE_INFO;
+import static org.lwjgl.vulkan.VK10.VK_STRUCTURE_TYPE_PIPELINE_SHADER_STAGE_CREATE_INFO;
+import static org.lwjgl.vulkan.VK10.VK_STRUCTURE_TYPE_PIPELINE_VERTEX_INPUT_STATE_CREATE_INFO;
+import static org.lwjgl.vulkan.VK10.VK_STRUCTURE_TYPE_PIPELINE_VIEWPORT_STATE_CREATE_INFO;
+import static org.lwjgl.vulkan.VK10.VK_VERTEX_INPUT_RATE_VERTEX;
+import static org.lwjgl.vulkan.VK10.vkCmdSetScissor;
+import static org.lwjgl.vulkan.VK10.vkCmdSetViewport;
+import static org.lwjgl.vulkan.VK10.vkCreateGraphicsPipelines;
+
+// Viewport and scissor are dynamic, so pipelines built here don't depend on the extent they render at and survive
+// resizes as long as their render pass stays compatible
+public class GraphicsPipelineBuilder {
+
+    private long vertexShader = VK_NULL_HANDLE;
+    private long fragmentShader = VK_NULL_HANDLE;
+    private boolean isBlendEnabled = true;
+    private int topology = VK_PRIMITIVE_TOPOLOGY_TRIANGLE_LIST;
+
+    // Both are {binding, stride} and {location, binding, format, offset} in the order Vulkan declares them
+    private final List<int[]> vertexBindings = new ArrayList<>();
+    private final List<int[]> vertexAttributes = new ArrayList<>();
+
+    public GraphicsPipelineBuilder shaders(final long vertexShader, final long fragmentShader) {
+        this.vertexShader = vertexShader;
+        this.fragmentShader = fragmentShader;
+        return this;
+    }
+
+    // Alpha blending is on by default; passes that overwrite every pixel they cover can skip reading the target
+    public GraphicsPipelineBuilder blending(final boolean isBlendEnabled) {
+        this.isBlendEnabled = isBlendEnabled;
+        return this;
+    }
+
+    public GraphicsPipelineBuilder topology(final int topology) {
+        this.topology = topology;
+        return this;
+    }
+
+    // Without any bindings the vertex shader generates its own positions, e.g. from gl_VertexIndex
+    public GraphicsPipelineBuilder vertexBinding(final int binding, final int stride) {
+        vertexBindings.add(new int[] {binding, stride});
+        return this;
+    }
+
+    public GraphicsPipelineBuilder vertexAttribute(final int location, final int binding, final int format,
+                                                   final int offset) {
+        vertexAttributes.add(new int[] {location, binding, format, offset});
+        return this;
+    }
+
+    public long build(final VkDevice device, final long renderPass, final long pipelineLayout) {
+        if (vertexShader == VK_NULL_HANDLE || fragmentShader == VK_NULL_HANDLE) {
+            throw new IllegalStateException("Both vertex and fragment shaders are required");
+        }
+
+        try (final MemoryStack stack = MemoryStack.stackPush()) {
+            final ByteBuffer entryPoint = stack.UTF8("main");
+
+            final VkPipelineShaderStageCreateInfo.Buffer shaderStages = VkPipelineShaderStageCreateInfo.callocStack(2,
+                    stack);
+
+            shaderStages.get(0)
+                    .sType(VK_STRUCTURE_TYPE_PIPELINE_SHADER_STAGE_CREATE_INFO)
+                    .stage(VK_SHADER_STAGE_VERTEX_BIT)
+                    .module(vertexShader)
+                    .pName(entryPoint);
+
+            shaderStages.get(1)
+                    .sType(VK_STRUCTURE_TYPE_PIPELINE_SHADER_STAGE_CREATE_INFO)
+                    .stage(VK_SHADER_STAGE_FRAGMENT_BIT)
+                    .module(fragmentShader)
+                    .pName(entryPoint);
+
+            final VkVertexInputBindingDescription.Buffer bindingDescriptions = VkVertexInputBindingDescription
+                    .callocStack(vertexBindings.size(), stack);
+
+            vertexBindings.forEach(binding -> bindingDescriptions.get()
+                    .binding(binding[0])
+                    .stride(binding[1])
+                    .inputRate(VK_VERTEX_INPUT_RATE_VERTEX));
+
+            bindingDescriptions.flip();
+
+            final VkVertexInputAttributeDescription.Buffer attributeDescriptions = VkVertexInputAttributeDescription
+                    .callocStack(vertexAttributes.size(), stack);
+
+            vertexAttributes.forEach(attribute -> attributeDescriptions.get()
+                    .location(attribute[0])
+                    .binding(attribute[1])
+                    .format(attribute[2])
+                    .offset(attribute[3]));
+
+            attributeDescriptions.flip();
+
+            final VkPipelineVertexInputStateCreateInfo vertexInputState = VkPipelineVertexInputStateCreateInfo
+                    .callocStack(stack)
+                    .sType(VK_STRUCTURE_TYPE_PIPELINE_VERTEX_INPUT_STATE_CREATE_INFO)
+                    .pVertexBindingDescriptions(bindingDescriptions)
+                    .pVertexAttributeDescriptions(attributeDescriptions);
+
+            final VkPipelineInputAssemblyStateCreateInfo inputAssemblyState = VkPipelineInputAssemblyStateCreateInfo
+                    .callocStack(stack)
+                    .sType(VK_STRUCTURE_TYPE_PIPELINE_INPUT_ASSEMBLY_STATE_CREATE_INFO)
+                    .topology(topology)
+                    .primitiveRestartEnable(false);
+
+            final VkPipelineViewportStateCreateInfo viewportState = VkPipelineViewportStateCreateInfo.callocStack(stack)
+                    .sType(VK_STRUCTURE_TYPE_PIPELINE_VIEWPORT_STATE_CREATE_INFO)
+                    .viewportCount(1)
+                    .scissorCount(1);
+
+            final VkPipelineRasterizationStateCreateInfo rasterizationState = VkPipelineRasterizationStateCreateInfo
+                    .callocStack(stack)
+                    .sType(VK_STRUCTURE_TYPE_PIPELINE_RASTERIZATION_STATE_CREATE_INFO)
+                    .depthClampEnable(false)
+                    .rasterizerDiscardEnable(false)
+                    .polygonMode(VK_POLYGON_MODE_FILL)
+                    .cullMode(VK_CULL_MODE_BACK_BIT)
+                    .frontFace(VK_FRONT_FACE_CLOCKWISE)
+                    .depthBiasEnable(false)
+                    .lineWidth(1.0f);
+
+            final VkPipelineMultisampleStateCreateInfo multisampleState = VkPipelineMultisampleStateCreateInfo
+                    .callocStack(stack)
+                    .sType(VK_STRUCTURE_TYPE_PIPELINE_MULTISAMPLE_STATE_CREATE_INFO)
+                    .rasterizationSamples(VK_SAMPLE_COUNT_1_BIT);
+
+            final VkPipelineColorBlendAttachmentState.Buffer colorBlendAttachments = VkPipelineColorBlendAttachmentState
+                    .callocStack(1, stack);
+
+            colorBlendAttachments.get(0)
+                    .blendEnable(isBlendEnabled)
+                    .srcColorBlendFactor(VK_BLEND_FACTOR_SRC_ALPHA)
+                    .dstColorBlendFactor(VK_BLEND_FACTOR_ONE_MINUS_SRC_ALPHA)
+                    .colorBlendOp(VK_BLEND_OP_ADD)
+                    .srcAlphaBlendFactor(VK_BLEND_FACTOR_ONE)
+                    .dstAlphaBlendFactor(VK_BLEND_FACTOR_ZERO)
+                    .alphaBlendOp(VK_BLEND_OP_ADD)
+                    .colorWriteMask(VK_COLOR_COMPONENT_R_BIT | VK_COLOR_COMPONENT_G_BIT
+                            | VK_COLOR_COMPONENT_B_BIT | VK_COLOR_COMPONENT_A_BIT);
+
+            final VkPipelineColorBlendStateCreateInfo colorBlendState = VkPipelineColorBlendStateCreateInfo
+                    .callocStack(stack)
+                    .sType(VK_STRUCTURE_TYPE_PIPELINE_COLOR_BLEND_STATE_CREATE_INFO)
+                    .logicOpEnable(false)
+                    .pAttachments(colorBlendAttachments);
+
+            final VkPipelineDynamicStateCreateInfo dynamicState = VkPipelineDynamicStateCreateInfo.callocStack(stack)
+                    .sType(VK_STRUCTURE_TYPE_PIPELINE_DYNAMIC_STATE_CREATE_INFO)
+                    .pDynamicStates(stack.ints(VK_DYNAMIC_STATE_VIEWPORT, VK_DYNAMIC_STATE_SCISSOR));
+
+            final VkGraphicsPipelineCreateInfo.Buffer createInfos = VkGraphicsPipelineCreateInfo.callocStack(1, stack);
+
+            createInfos.get(0)
+                    .sType(VK_STRUCTURE_TYPE_GRAPHICS_PIPELINE_CREATE_INFO)
+                    .pStages(shaderStages)
+                    .pVertexInputState(vertexInputState)
+                    .pInputAssemblyState(inputAssemblyState)
+                    .pViewportState(viewportState)
+                    .pRasterizationState(rasterizationState)
+                    .pMultisampleState(multisampleState)
+                    .pColorBlendState(colorBlendState)
+                    .pDynamicState(dynamicState)
+                    .layout(pipelineLayout)
+                    .renderPass(renderPass)
+                    .subpass(0)
+                    .basePipelineIndex(-1);
+
+            final LongBuffer pPipeline = stack.mallocLong(1);
+            VulkanResults.check(vkCreateGraphicsPipelines(device, VK_NULL_HANDLE, createInfos, null, pPipeline),
+                    "create graphics pipeline");
+
+            return pPipeline.get(0);
+        }
+    }
+
+    // Every pipeline built here leaves viewport and scissor dynamic, so they have to be set before drawing
+    public static void recordViewport(final VkCommandBuffer commandBuffer, final int width, final int height) {
+        try (final MemoryStack stack = MemoryStack.stackPush()) {
+            final VkViewport.Buffer viewports = VkViewport.callocStack(1, stack);
+
+            viewports.get(0)
+                    .width(width)
+                    .height(height)
+                    .minDepth(0.0f)
+                    .maxDepth(1.0f);
+
+            final VkRect2D.Buffer scissors = VkRect2D.callocStack(1, stack);
+
+            scissors.get(0).extent()
+                    .width(width)
+                    .height(height);
+
+            vkCmdSetViewport(commandBuffer, 0, viewports);
+            vkCmdSetScissor(commandBuffer, 0, scissors);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.justindriggers.example.renderer.pipeline;
+
+import com.justindriggers.example.renderer.VulkanResults;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.vulkan.VkAttachmentDescription;
+import org.lwjgl.vulkan.VkAttachmentReference;
+import org.lwjgl.vulkan.VkClearValue;
+import org.lwjgl.vulkan.VkCommandBuffer;
+import org.lwjgl.vulkan.VkDevice;
+import org.lwjgl.vulkan.VkFramebufferCreateInfo;
+import org.lwjgl.vulkan.VkRenderPassBeginInfo;
+import org.lwjgl.vulkan.VkRenderPassCreateInfo;
+import org.lwjgl.vulkan.VkSubpassDependency;
+import org.lwjgl.vulkan.VkSubpassDescription;
+
+import java.nio.LongBuffer;
+
+import static org.lwjgl.vulkan.VK10.VK_ACCESS_COLOR_ATTACHMENT_WRITE_BIT;
+import static org.lwjgl.vulkan.VK10.VK_ATTACHMENT_LOAD_OP_CLEAR;
+import static org.lwjgl.vulkan.VK10.VK_ATTACHMENT_LOAD_OP_DONT_CARE;
+import static org.lwjgl.vulkan.VK10.VK_ATTACHMENT_STORE_OP_DONT_CARE;
+import static org.lwjgl.vulkan.VK10.VK_ATTACHMENT_STORE_OP_STORE;
+import static org.lwjgl.vulkan.VK10.VK_IMAGE_LAYOUT_COLOR_ATTACHMENT_OPTIMAL;
+import static org.lwjgl.vulkan.VK10.VK_IMAGE_LAYOUT_UNDEFINED;
+import static org.lwjgl.vulkan.VK10.VK_PIPELINE_BIND_POINT_GRAPHICS;
+import static org.lwjgl.vulkan.VK10.VK_PIPELINE_STAGE_COLOR_ATTACHMENT_OUTPUT_BIT;
+import static org.lwjgl.vulkan.VK10.VK_SAMPLE_COUNT_1_BIT;
+import static org.lwjgl.vulkan.VK10.VK_STRUCTURE_TYPE_FRAMEBUFFER_CREATE_INFO;
+import static org.lwjgl.vulkan.VK10.VK_STRUCTURE_TYPE_RENDER_PASS_BEGIN_INFO;
+import static org.lwjgl.vulkan.VK10.VK_STRUCTURE_TYPE_RENDER_PASS_CREATE_INFO;
+import static org.lwjgl.vulkan.VK10.VK_SUBPASS_CONTENTS_INLINE;
+import static org.lwjgl.vulkan.VK10.VK_SUBPASS_EXTERNAL;
+import static org.lwjgl.vulkan.VK10.vkCmdBeginRenderPass;
+import static org.lwjgl.vulkan.VK10.vkCreateFramebuffer;
+import static org.lwjgl.vulkan.VK10.vkCreateRenderPass;
+
+// Render passes for offscreen targets, which the wrapper's RenderPass can't describe since it has no way to express
+// a final layout other than the one its attachment was created with or a dependency into a later consumer
+public final class RenderPasses {
+
+    private RenderPasses() {
+    }
+
+    // A single cleared color attachment, left in finalLayout for a consumer at consumerStage with consumerAccess.
+    // The incoming dependency also waits on consumerStage, since the previous frame's consumer may still be reading
+    // the image when the next frame starts overwriting it.
+    public static long createColorPass(final VkDevice device,
+                                       final int format,
+                                       final int finalLayout,
+                                       final int consumerStage,
+                                       final int consumerAccess) {
+        try (final MemoryStack stack = MemoryStack.stackPush()) {
+            final VkAttachmentDescription.Buffer attachments = VkAttachmentDescription.callocStack(1, stack);
+
+            attachments.get(0)
+                    .format(format)
+                    .samples(VK_SAMPLE_COUNT_1_BIT)
+                    .loadOp(VK_ATTACHMENT_LOAD_OP_CLEAR)
+                    .storeOp(VK_ATTACHMENT_STORE_OP_STORE)
+                    .stencilLoadOp(VK_ATTACHMENT_LOAD_OP_DONT_CARE)
+                    .stencilStoreOp(VK_ATTACHMENT_STORE_OP_DONT_CARE)
+                    .initialLayout(VK_IMAGE_LAYOUT_UNDEFINED)
+                    .finalLayout(finalLayout);
+
+            final VkAttachmentReference.Buffer colorAttachmentReferences = VkAttachmentReference.callocStack(1, stack);
+
+            colorAttachmentReferences.get(0)
+                    .attachment(0)
+                    .layout(VK_IMAGE_LAYOUT_COLOR_ATTACHMENT_OPTIMAL);
+
+            final VkSubpassDescription.Buffer subpasses = VkSubpassDescription.callocStack(1, stack);
+
+            subpasses.get(0)
+                    .pipelineBindPoint(VK_PIPELINE_BIND_POINT_GRAPHICS)
+                    .colorAttachmentCount(1)
+                    .pColorAttachments(colorAttachmentReferences);
+
+            final VkSubpassDependency.Buffer dependencies = VkSubpassDependency.callocStack(2, stack);
+
+            dependencies.get(0)
+                    .srcSubpass(VK_SUBPASS_EXTERNAL)
+                    .dstSubpass(0)
+                    .srcStageMask(VK_PIPELINE_STAGE_COLOR_ATTACHMENT_OUTPUT_BIT | consumerStage)
+                    .dstStageMask(VK_PIPELINE_STAGE_COLOR_ATTACHMENT_OUTPUT_BIT)
+                    .srcAccessMask(0)
+                    .dstAccessMask(VK_ACCESS_COLOR_ATTACHMENT_WRITE_BIT);
+
+            dependencies.get(1)
+                    .srcSubpass(0)
+                    .dstSubpass(VK_SUBPASS_EXTERNAL)
+                    .srcStageMask(VK_PIPELINE_STAGE_COLOR_ATTACHMENT_OUTPUT_BIT)
+                    .dstStageMask(consumerStage)
+                    .srcAccessMask(VK_ACCESS_COLOR_ATTACHMENT_WRITE_BIT)
+                    .dstAccessMask(consumerAccess);
+
+            final VkRenderPassCreateInfo createInfo = VkRenderPassCreateInfo.callocStack(stack)
+                    .sType(VK_STRUCTURE_TYPE_RENDER_PASS_CREATE_INFO)
+                    .pAttachments(attachments)
+                    .pSubpasses(subpasses)
+                    .pDependencies(dependencies);
+
+            final LongBuffer pRenderPass = stack.mallocLong(1);
+            VulkanResults.check(vkCreateRenderPass(device, createInfo, null, pRenderPass), "create render pass");
+
+            return pRenderPass.get(0);
+        }
+    }
+
+    public static long createFramebuffer(final VkDevice device, final long renderPass, final long imageView,
+                                         final int width, final int height) {
+        try (final MemoryStack stack = MemoryStack.stackPush()) {
+            final VkFramebufferCreateInfo createInfo = VkFramebufferCreateInfo.callocStack(stack)
+                    .sType(VK_STRUCTURE_TYPE_FRAMEBUFFER_CREATE_INFO)
+                    .renderPass(renderPass)
+                    .pAttachments(stack.longs(imageView))
+                    .width(width)
+                    .height(height)
+                    .layers(1);
+
+            final LongBuffer pFramebuffer = stack.mallocLong(1);
+            VulkanResults.check(vkCreateFramebuffer(device, createInfo, null, pFramebuffer), "create framebuffer");
+
+            return pFramebuffer.get(0);
+        }
+    }
+
+    // Clears to opaque black, like the swapchain pass, and only covers the top-left width x height of the target
+    public static void recordBegin(final VkCommandBuffer commandBuffer, final long renderPass, final long framebuffer,
+                                   final int width, final int height) {
+        try (final MemoryStack stack = MemoryStack.stackPush()) {
+            final VkClearValue.Buffer clearValues = VkClearValue.callocStack(1, stack);
+
+            clearValues.get(0).color()
+                    .float32(0, 0.0f)
+                    .float32(1, 0.0f)
+                    .float32(2, 0.0f)
+                    .float32(3, 1.0f);
+
+            final VkRenderPassBeginInfo beginInfo = VkRenderPassBeginInfo.callocStack(stack)
+                    .sType(VK_STRUCTURE_TYPE_RENDER_PASS_BEGIN_INFO)
+                    .renderPass(renderPass)
+                    .framebuffer(framebuffer)
+                    .pClearValues(clearValues);
+
+            beginInfo.renderArea().extent()
+                    .width(width)
+                    .height(height);
+
+            vkCmdBeginRenderPass(commandBuffer, beginInfo, VK_SUBPASS_CONTENTS_INLINE);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.justindriggers.example.renderer.pipeline;
+
+import com.justindriggers.example.renderer.VulkanResults;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.vulkan.VkDevice;
+import org.lwjgl.vulkan.VkShaderModuleCreateInfo;
+
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+
+import static org.lwjgl.vulkan.VK10.VK_STRUCTURE_TYPE_SHADER_MODULE_CREATE_INFO;
+import static org.lwjgl.vulkan.VK10.vkCreateShaderModule;
+
+public final class ShaderModules {
+
+    private ShaderModules() {
+    }
+
+    // The code buffer must be direct, e.g. one read by AsyncResourceLoader.load()
+    public static long create(final VkDevice device, final ByteBuffer code) {
+        try (final MemoryStack stack = MemoryStack.stackPush()) {
+            final VkShaderModuleCreateInfo createInfo = VkShaderModuleCreateInfo.callocStack(stack)
+                    .sType(VK_STRUCTURE_TYPE_SHADER_MODULE_CREATE_INFO)
+                    .pCode(code);
+
+            final LongBuffer pShaderModule = stack.mallocLong(1);
+            VulkanResults.check(vkCreateShaderModule(device, createInfo, null, pShaderModule), "create shader module");
+
+            return pShaderModule.get(0);
+        }
+    }
+}
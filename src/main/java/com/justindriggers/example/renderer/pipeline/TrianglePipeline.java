@@ -0,0 +1,162 @@
+package com.justindriggers.example.renderer.pipeline;
+
+import com.justindriggers.example.renderer.VulkanResults;
+import com.justindriggers.example.renderer.descriptor.DescriptorBinding;
+import com.justindriggers.example.renderer.uniform.PushConstantBlock;
+import com.justindriggers.vulkan.command.CommandBuffer;
+import com.justindriggers.vulkan.command.commands.DrawCommand;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.vulkan.VkCommandBuffer;
+import org.lwjgl.vulkan.VkDescriptorBufferInfo;
+import org.lwjgl.vulkan.VkDevice;
+import org.lwjgl.vulkan.VkPipelineLayoutCreateInfo;
+import org.lwjgl.vulkan.VkPushConstantRange;
+import org.lwjgl.vulkan.VkWriteDescriptorSet;
+
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.util.Collections;
+import java.util.List;
+
+import static org.lwjgl.vulkan.VK10.VK_DESCRIPTOR_TYPE_UNIFORM_BUFFER_DYNAMIC;
+import static org.lwjgl.vulkan.VK10.VK_PIPELINE_BIND_POINT_GRAPHICS;
+import static org.lwjgl.vulkan.VK10.VK_SHADER_STAGE_VERTEX_BIT;
+import static org.lwjgl.vulkan.VK10.VK_STRUCTURE_TYPE_PIPELINE_LAYOUT_CREATE_INFO;
+import static org.lwjgl.vulkan.VK10.VK_STRUCTURE_TYPE_WRITE_DESCRIPTOR_SET;
+import static org.lwjgl.vulkan.VK10.vkCmdBindDescriptorSets;
+import static org.lwjgl.vulkan.VK10.vkCmdBindPipeline;
+import static org.lwjgl.vulkan.VK10.vkCmdPushConstants;
+import static org.lwjgl.vulkan.VK10.vkCreatePipelineLayout;
+import static org.lwjgl.vulkan.VK10.vkUpdateDescriptorSets;
+
+// Shared by the swapchain and offline renderers, which only differ in what the render pass targets.
+// Matches triangle.vert: set 0 binding 0 holds the per-frame projection and the push constants hold the per-draw model
+// matrix, both column-major mat4s.
+// The layout and pipeline are raw handles, since the wrapper's PipelineLayout can't be given a descriptor set layout or
+// push constant ranges and its GraphicsPipeline only accepts that layout with a fixed viewport. Everything else stays
+// on the wrapper.
+public final class TrianglePipeline {
+
+    public static final int UNIFORM_SIZE = 16 * Float.BYTES;
+    public static final int PUSH_CONSTANT_SIZE = 16 * Float.BYTES;
+
+    public static final List<DescriptorBinding> DESCRIPTOR_BINDINGS = Collections.singletonList(
+            new DescriptorBinding(0, VK_DESCRIPTOR_TYPE_UNIFORM_BUFFER_DYNAMIC, 1, VK_SHADER_STAGE_VERTEX_BIT)
+    );
+
+    private TrianglePipeline() {
+    }
+
+    public static long createPipelineLayout(final VkDevice device, final long descriptorSetLayout) {
+        try (final MemoryStack stack = MemoryStack.stackPush()) {
+            final VkPushConstantRange.Buffer pushConstantRanges = VkPushConstantRange.callocStack(1, stack);
+
+            pushConstantRanges.get(0)
+                    .stageFlags(VK_SHADER_STAGE_VERTEX_BIT)
+                    .offset(0)
+                    .size(PUSH_CONSTANT_SIZE);
+
+            final VkPipelineLayoutCreateInfo createInfo = VkPipelineLayoutCreateInfo.callocStack(stack)
+                    .sType(VK_STRUCTURE_TYPE_PIPELINE_LAYOUT_CREATE_INFO)
+                    .pSetLayouts(stack.longs(descriptorSetLayout))
+                    .pPushConstantRanges(pushConstantRanges);
+
+            final LongBuffer pPipelineLayout = stack.mallocLong(1);
+            VulkanResults.check(vkCreatePipelineLayout(device, createInfo, null, pPipelineLayout),
+                    "create pipeline layout");
+
+            return pPipelineLayout.get(0);
+        }
+    }
+
+    public static long createGraphicsPipeline(final VkDevice device,
+                                              final long vertexShader,
+                                              final long fragmentShader,
+                                              final long renderPass,
+                                              final long pipelineLayout) {
+        return new GraphicsPipelineBuilder()
+                .shaders(vertexShader, fragmentShader)
+                .build(device, renderPass, pipelineLayout);
+    }
+
+    // The descriptor covers a single UNIFORM_SIZE window of the uniform buffer, positioned by the dynamic offset
+    public static void writeDescriptorSet(final VkDevice device, final long descriptorSet, final long uniformBuffer) {
+        try (final MemoryStack stack = MemoryStack.stackPush()) {
+            final VkDescriptorBufferInfo.Buffer bufferInfos = VkDescriptorBufferInfo.callocStack(1, stack);
+
+            bufferInfos.get(0)
+                    .buffer(uniformBuffer)
+                    .offset(0L)
+                    .range(UNIFORM_SIZE);
+
+            final VkWriteDescriptorSet.Buffer descriptorWrites = VkWriteDescriptorSet.callocStack(1, stack);
+
+            descriptorWrites.get(0)
+                    .sType(VK_STRUCTURE_TYPE_WRITE_DESCRIPTOR_SET)
+                    .dstSet(descriptorSet)
+                    .dstBinding(0)
+                    .descriptorType(VK_DESCRIPTOR_TYPE_UNIFORM_BUFFER_DYNAMIC)
+                    .pBufferInfo(bufferInfos);
+
+            vkUpdateDescriptorSets(device, descriptorWrites, null);
+        }
+    }
+
+    // Scales x or y so the triangle keeps its proportions at any aspect ratio. Writes every element, since the ring
+    // memory still holds whatever an earlier frame left there.
+    public static void putProjection(final ByteBuffer buffer, final int offset, final float aspectRatio) {
+        final float scaleX = aspectRatio > 1.0f ? 1.0f / aspectRatio : 1.0f;
+        final float scaleY = aspectRatio > 1.0f ? 1.0f : aspectRatio;
+
+        for (int i = 0; i < 16; i++) {
+            final float value;
+
+            if (i == 0) {
+                value = scaleX;
+            } else if (i == 5) {
+                value = scaleY;
+            } else if (i == 10 || i == 15) {
+                value = 1.0f;
+            } else {
+                value = 0.0f;
+            }
+
+            buffer.putFloat(offset + i * Float.BYTES, value);
+        }
+    }
+
+    // Rotation about the z axis, so an angle of zero writes the identity. The remaining elements of the block are never
+    // written, so they stay zero.
+    public static void putModel(final PushConstantBlock pushConstants, final float angle) {
+        final float cos = (float) Math.cos(angle);
+        final float sin = (float) Math.sin(angle);
+
+        pushConstants.putFloat(0, cos)
+                .putFloat(4, sin)
+                .putFloat(16, -sin)
+                .putFloat(20, cos)
+                .putFloat(40, 1.0f)
+                .putFloat(60, 1.0f);
+    }
+
+    // Records inside a render pass the caller has begun, after the viewport has been set. Only the binds go through the
+    // raw handle, since the wrapper's bind command takes its own pipeline type.
+    public static void recordDraw(final CommandBuffer commandBuffer,
+                                  final long graphicsPipeline,
+                                  final long pipelineLayout,
+                                  final long descriptorSet,
+                                  final int uniformOffset,
+                                  final PushConstantBlock pushConstants) {
+        final VkCommandBuffer commandBufferHandle = commandBuffer.unwrap();
+
+        try (final MemoryStack stack = MemoryStack.stackPush()) {
+            vkCmdBindPipeline(commandBufferHandle, VK_PIPELINE_BIND_POINT_GRAPHICS, graphicsPipeline);
+            vkCmdBindDescriptorSets(commandBufferHandle, VK_PIPELINE_BIND_POINT_GRAPHICS, pipelineLayout, 0,
+                    stack.longs(descriptorSet), stack.ints(uniformOffset));
+            vkCmdPushConstants(commandBufferHandle, pipelineLayout, VK_SHADER_STAGE_VERTEX_BIT, 0,
+                    pushConstants.getData());
+        }
+
+        commandBuffer.submit(new DrawCommand(3, 1, 0, 0));
+    }
+}
@@ -0,0 +1,237 @@
+package com.justindriggers.example.renderer.resource;
+
+import com.justindriggers.vulkan.models.pointers.Disposable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+public class ResourceTracker {
+
+    private static final Logger LOGGER = Logger.getLogger(ResourceTracker.class.getName());
+
+    private final boolean captureStackTraces;
+
+    private final Map<Object, TrackedResource> liveResources = new IdentityHashMap<>();
+
+    // Raw Vulkan handles have no object identity, so they're keyed by type and value instead
+    private final Map<String, TrackedResource> liveHandles = new HashMap<>();
+
+    private final Map<String, Map<String, Integer>> countsByTypeAtCheckpoints = new HashMap<>();
+
+    public ResourceTracker() {
+        this(Boolean.getBoolean("example.resources.debug"));
+    }
+
+    public ResourceTracker(final boolean captureStackTraces) {
+        this.captureStackTraces = captureStackTraces;
+    }
+
+    public <T> T track(final T resource) {
+        return track(resource, 0L);
+    }
+
+    public <T> T track(final T resource, final long nativeBytes) {
+        if (resource != null) {
+            final Throwable creationTrace = captureStackTraces
+                    ? new Throwable("Created " + resource.getClass().getSimpleName())
+                    : null;
+
+            synchronized (liveResources) {
+                liveResources.put(resource, new TrackedResource(resource.getClass().getSimpleName(), nativeBytes,
+                        creationTrace));
+            }
+        }
+
+        return resource;
+    }
+
+    public long trackHandle(final String type, final long handle) {
+        return trackHandle(type, handle, 0L);
+    }
+
+    public long trackHandle(final String type, final long handle, final long nativeBytes) {
+        final Throwable creationTrace = captureStackTraces ? new Throwable("Created " + type) : null;
+
+        synchronized (liveResources) {
+            liveHandles.put(getHandleKey(type, handle), new TrackedResource(type, nativeBytes, creationTrace));
+        }
+
+        return handle;
+    }
+
+    public void release(final Object resource) {
+        if (resource != null) {
+            final TrackedResource trackedResource;
+
+            synchronized (liveResources) {
+                trackedResource = liveResources.remove(resource);
+            }
+
+            if (trackedResource == null) {
+                LOGGER.log(Level.WARNING, () -> String.format("Released untracked %s",
+                        resource.getClass().getSimpleName()));
+            }
+        }
+    }
+
+    public void releaseHandle(final String type, final long handle) {
+        final TrackedResource trackedResource;
+
+        synchronized (liveResources) {
+            trackedResource = liveHandles.remove(getHandleKey(type, handle));
+        }
+
+        if (trackedResource == null) {
+            LOGGER.log(Level.WARNING, () -> String.format("Released untracked %s", type));
+        }
+    }
+
+    public void dispose(final Disposable resource) {
+        if (resource != null) {
+            resource.close();
+            release(resource);
+        }
+    }
+
+    public void dispose(final Closeable resource) {
+        if (resource != null) {
+            try {
+                resource.close();
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                release(resource);
+            }
+        }
+    }
+
+    public int getLiveCount() {
+        synchronized (liveResources) {
+            return liveResources.size() + liveHandles.size();
+        }
+    }
+
+    public long getLiveNativeBytes() {
+        return getTrackedResources().stream()
+                .mapToLong(TrackedResource::getNativeBytes)
+                .sum();
+    }
+
+    public Map<String, Integer> getLiveCountsByType() {
+        final Map<String, Integer> result = new TreeMap<>();
+
+        getTrackedResources().forEach(trackedResource -> result.merge(trackedResource.getType(), 1, Integer::sum));
+
+        return result;
+    }
+
+    public Map<String, Long> getLiveNativeBytesByType() {
+        final Map<String, Long> result = new TreeMap<>();
+
+        getTrackedResources().forEach(trackedResource -> result.merge(trackedResource.getType(),
+                trackedResource.getNativeBytes(), Long::sum));
+
+        return result;
+    }
+
+    // Each pass through a steady-state checkpoint, such as a swapchain refresh, should leave the counts of the types it
+    // owns unchanged. Only those types are compared, so resources that legitimately appear in between, like shaders
+    // finishing their loads, don't hide or fake a leak. Growth in any of them means something was never disposed.
+    public void checkpoint(final String name, final Collection<String> types) {
+        final Map<String, Integer> liveCountsByType = getLiveCountsByType();
+        final Map<String, Long> liveNativeBytesByType = getLiveNativeBytesByType();
+
+        final Map<String, Integer> countsByType = new TreeMap<>();
+        types.forEach(type -> countsByType.put(type, liveCountsByType.getOrDefault(type, 0)));
+
+        final Map<String, Integer> previousCountsByType = countsByTypeAtCheckpoints.put(name, countsByType);
+
+        final Map<String, Integer> grownTypes = Optional.ofNullable(previousCountsByType)
+                .map(previousCounts -> countsByType.entrySet().stream()
+                        .filter(entry -> entry.getValue() > previousCounts.getOrDefault(entry.getKey(), 0))
+                        .collect(Collectors.toMap(Map.Entry::getKey,
+                                entry -> entry.getValue() - previousCounts.getOrDefault(entry.getKey(), 0),
+                                Integer::sum, TreeMap::new)))
+                .orElseGet(TreeMap::new);
+
+        final long nativeBytes = types.stream()
+                .mapToLong(type -> liveNativeBytesByType.getOrDefault(type, 0L))
+                .sum();
+
+        if (!grownTypes.isEmpty()) {
+            LOGGER.log(Level.WARNING, () -> String.format("Resources grew at %s by %s, now %s (%d native bytes)",
+                    name, grownTypes, countsByType, nativeBytes));
+        } else {
+            LOGGER.log(Level.FINE, () -> String.format("%s (%d native bytes) at %s, %d live resources in total",
+                    countsByType, nativeBytes, name, getLiveCount()));
+        }
+    }
+
+    // Everything the renderer created should have been disposed by the time this is called
+    public void reportLeaks() {
+        final List<TrackedResource> leakedResources = getTrackedResources();
+
+        if (leakedResources.isEmpty()) {
+            LOGGER.log(Level.FINE, "No leaked resources");
+        } else {
+            LOGGER.log(Level.WARNING, () -> String.format("%d resources leaked (%d native bytes): %s",
+                    leakedResources.size(), getLiveNativeBytes(), getLiveCountsByType()));
+
+            leakedResources.forEach(leakedResource -> Optional.ofNullable(leakedResource.getCreationTrace())
+                    .ifPresent(creationTrace -> LOGGER.log(Level.WARNING, "Leaked resource", creationTrace)));
+        }
+    }
+
+    private List<TrackedResource> getTrackedResources() {
+        final List<TrackedResource> result;
+
+        synchronized (liveResources) {
+            result = new ArrayList<>(liveResources.size() + liveHandles.size());
+            result.addAll(liveResources.values());
+            result.addAll(liveHandles.values());
+        }
+
+        return result;
+    }
+
+    private static String getHandleKey(final String type, final long handle) {
+        return type + '@' + Long.toHexString(handle);
+    }
+
+    private static class TrackedResource {
+
+        private final String type;
+        private final long nativeBytes;
+        private final Throwable creationTrace;
+
+        TrackedResource(final String type, final long nativeBytes, final Throwable creationTrace) {
+            this.type = type;
+            this.nativeBytes = nativeBytes;
+            this.creationTrace = creationTrace;
+        }
+
+        String getType() {
+            return type;
+        }
+
+        long getNativeBytes() {
+            return nativeBytes;
+        }
+
+        Throwable getCreationTrace() {
+            return creationTrace;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.justindriggers.example.renderer.scaling;
+
+import com.justindriggers.example.renderer.VulkanResults;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.vulkan.VkCommandBuffer;
+import org.lwjgl.vulkan.VkDevice;
+import org.lwjgl.vulkan.VkPhysicalDevice;
+import org.lwjgl.vulkan.VkPhysicalDeviceProperties;
+import org.lwjgl.vulkan.VkQueryPoolCreateInfo;
+import org.lwjgl.vulkan.VkQueueFamilyProperties;
+
+import java.io.Closeable;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.lwjgl.vulkan.VK10.VK_PIPELINE_STAGE_BOTTOM_OF_PIPE_BIT;
+import static org.lwjgl.vulkan.VK10.VK_PIPELINE_STAGE_TOP_OF_PIPE_BIT;
+import static org.lwjgl.vulkan.VK10.VK_QUERY_RESULT_64_BIT;
+import static org.lwjgl.vulkan.VK10.VK_QUERY_TYPE_TIMESTAMP;
+import static org.lwjgl.vulkan.VK10.VK_STRUCTURE_TYPE_QUERY_POOL_CREATE_INFO;
+import static org.lwjgl.vulkan.VK10.VK_SUCCESS;
+import static org.lwjgl.vulkan.VK10.vkCmdResetQueryPool;
+import static org.lwjgl.vulkan.VK10.vkCmdWriteTimestamp;
+import static org.lwjgl.vulkan.VK10.vkCreateQueryPool;
+import static org.lwjgl.vulkan.VK10.vkDestroyQueryPool;
+import static org.lwjgl.vulkan.VK10.vkGetPhysicalDeviceProperties;
+import static org.lwjgl.vulkan.VK10.vkGetPhysicalDeviceQueueFamilyProperties;
+import static org.lwjgl.vulkan.VK10.vkGetQueryPoolResults;
+
+// A timestamp query pool per in-flight frame, bracketing the scene pass. Each slot's results are only read once its
+// fence has signalled, so reading them never waits on the GPU.
+public class GpuFrameTimer implements Closeable {
+
+    private static final int QUERIES_PER_FRAME = 2;
+
+    private final VkDevice device;
+    private final List<Long> queryPools;
+    private final boolean[] isPending;
+    private final double nanosPerTick;
+    private final long validBitsMask;
+
+    private GpuFrameTimer(final VkDevice device, final int frameSlotCount, final double nanosPerTick,
+                          final int validBits) {
+        this.device = device;
+        this.nanosPerTick = nanosPerTick;
+
+        validBitsMask = validBits >= Long.SIZE ? -1L : (1L << validBits) - 1L;
+        isPending = new boolean[frameSlotCount];
+        queryPools = new ArrayList<>(frameSlotCount);
+
+        try (final MemoryStack stack = MemoryStack.stackPush()) {
+            final VkQueryPoolCreateInfo createInfo = VkQueryPoolCreateInfo.callocStack(stack)
+                    .sType(VK_STRUCTURE_TYPE_QUERY_POOL_CREATE_INFO)
+                    .queryType(VK_QUERY_TYPE_TIMESTAMP)
+                    .queryCount(QUERIES_PER_FRAME);
+
+            final LongBuffer pQueryPool = stack.mallocLong(1);
+
+            for (int i = 0; i < frameSlotCount; i++) {
+                VulkanResults.check(vkCreateQueryPool(device, createInfo, null, pQueryPool), "create query pool");
+                queryPools.add(pQueryPool.get(0));
+            }
+        }
+    }
+
+    // Empty when the queue family doesn't support timestamps
+    public static Optional<GpuFrameTimer> create(final VkDevice device, final int queueFamilyIndex,
+                                                 final int frameSlotCount) {
+        final Optional<GpuFrameTimer> result;
+
+        try (final MemoryStack stack = MemoryStack.stackPush()) {
+            final VkPhysicalDevice physicalDevice = device.getPhysicalDevice();
+
+            final VkPhysicalDeviceProperties properties = VkPhysicalDeviceProperties.mallocStack(stack);
+            vkGetPhysicalDeviceProperties(physicalDevice, properties);
+
+            final IntBuffer pQueueFamilyCount = stack.mallocInt(1);
+            vkGetPhysicalDeviceQueueFamilyProperties(physicalDevice, pQueueFamilyCount, null);
+
+            final VkQueueFamilyProperties.Buffer queueFamilies = VkQueueFamilyProperties.mallocStack(
+                    pQueueFamilyCount.get(0), stack);
+            vkGetPhysicalDeviceQueueFamilyProperties(physicalDevice, pQueueFamilyCount, queueFamilies);
+
+            final int validBits = queueFamilies.get(queueFamilyIndex).timestampValidBits();
+
+            if (validBits > 0) {
+                result = Optional.of(new GpuFrameTimer(device, frameSlotCount, properties.limits().timestampPeriod(),
+                        validBits));
+            } else {
+                result = Optional.empty();
+            }
+        }
+
+        return result;
+    }
+
+    // Records outside of any render pass, since the slot's queries have to be reset first
+    public void recordBegin(final VkCommandBuffer commandBuffer, final int frameSlot) {
+        final long queryPool = queryPools.get(frameSlot);
+
+        vkCmdResetQueryPool(commandBuffer, queryPool, 0, QUERIES_PER_FRAME);
+        vkCmdWriteTimestamp(commandBuffer, VK_PIPELINE_STAGE_TOP_OF_PIPE_BIT, queryPool, 0);
+    }
+
+    public void recordEnd(final VkCommandBuffer commandBuffer, final int frameSlot) {
+        vkCmdWriteTimestamp(commandBuffer, VK_PIPELINE_STAGE_BOTTOM_OF_PIPE_BIT, queryPools.get(frameSlot), 1);
+
+        isPending[frameSlot] = true;
+    }
+
+    // Only call once the slot's fence has signalled. Returns -1 when the slot has no new timing, such as before its
+    // first frame or when the frame skipped the scene pass.
+    public long getElapsedNanos(final int frameSlot) {
+        long result = -1L;
+
+        if (isPending[frameSlot]) {
+            isPending[frameSlot] = false;
+
+            try (final MemoryStack stack = MemoryStack.stackPush()) {
+                final LongBuffer timestamps = stack.mallocLong(QUERIES_PER_FRAME);
+
+                // Without the wait flag this returns VK_NOT_READY rather than blocking, e.g. if the frame was never
+                // submitted
+                if (vkGetQueryPoolResults(device, queryPools.get(frameSlot), 0, QUERIES_PER_FRAME, timestamps,
+                        Long.BYTES, VK_QUERY_RESULT_64_BIT) == VK_SUCCESS) {
+                    final long ticks = (timestamps.get(1) - timestamps.get(0)) & validBitsMask;
+                    result = (long) (ticks * nanosPerTick);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public void close() {
+        queryPools.forEach(queryPool -> vkDestroyQueryPool(device, queryPool, null));
+        queryPools.clear();
+    }
+}
@@ -0,0 +1,110 @@
+package com.justindriggers.example.renderer.scaling;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+public class ResolutionScaleController {
+
+    private static final double SMOOTHING = 0.1;
+    private static final float SCALE_STEP = 0.05f;
+    private static final int COOLDOWN_FRAMES = 30;
+
+    private final long targetFrameNanos;
+    private final float minScale;
+    private final float maxScale;
+    private final float hysteresis;
+
+    private float scale;
+    private double averageFrameNanos;
+    private int framesUntilNextChange;
+
+    public ResolutionScaleController(final long targetFrameNanos, final float minScale, final float maxScale,
+                                     final float hysteresis) {
+        if (targetFrameNanos <= 0) {
+            throw new IllegalArgumentException("Target frame time must be positive");
+        }
+
+        if (minScale <= 0.0f || minScale > maxScale || maxScale > 1.0f) {
+            throw new IllegalArgumentException(String.format("Invalid scale range [%f, %f]", minScale, maxScale));
+        }
+
+        if (hysteresis < 0.0f || hysteresis >= 1.0f) {
+            throw new IllegalArgumentException("Hysteresis must be within [0, 1)");
+        }
+
+        this.targetFrameNanos = targetFrameNanos;
+        this.minScale = minScale;
+        this.maxScale = maxScale;
+        this.hysteresis = hysteresis;
+
+        scale = maxScale;
+        framesUntilNextChange = COOLDOWN_FRAMES;
+    }
+
+    public static Optional<ResolutionScaleController> fromSystemProperties() {
+        final Optional<ResolutionScaleController> result;
+
+        if (Boolean.getBoolean("example.resolution.dynamic")) {
+            final double targetMillis = Double.parseDouble(System.getProperty("example.resolution.targetMillis", "16.6"));
+
+            result = Optional.of(new ResolutionScaleController(
+                    (long) (targetMillis * TimeUnit.MILLISECONDS.toNanos(1)),
+                    Float.parseFloat(System.getProperty("example.resolution.minScale", "0.5")),
+                    Float.parseFloat(System.getProperty("example.resolution.maxScale", "1.0")),
+                    Float.parseFloat(System.getProperty("example.resolution.hysteresis", "0.1"))
+            ));
+        } else {
+            result = Optional.empty();
+        }
+
+        return result;
+    }
+
+    // Returns true when the scale changed
+    public boolean update(final long frameNanos) {
+        boolean result = false;
+
+        if (averageFrameNanos == 0.0) {
+            averageFrameNanos = frameNanos;
+        } else {
+            averageFrameNanos += (frameNanos - averageFrameNanos) * SMOOTHING;
+        }
+
+        if (framesUntilNextChange > 0) {
+            framesUntilNextChange--;
+        } else {
+            final float nextScale;
+
+            if (averageFrameNanos > targetFrameNanos * (1.0 + hysteresis)) {
+                nextScale = Math.max(minScale, quantize(scale - SCALE_STEP));
+            } else if (averageFrameNanos < targetFrameNanos * (1.0 - hysteresis)) {
+                nextScale = Math.min(maxScale, quantize(scale + SCALE_STEP));
+            } else {
+                nextScale = scale;
+            }
+
+            if (nextScale != scale) {
+                scale = nextScale;
+
+                // Frame times right after a change aren't representative, so let the average settle first
+                framesUntilNextChange = COOLDOWN_FRAMES;
+                result = true;
+            }
+        }
+
+        return result;
+    }
+
+    public float getScale() {
+        return scale;
+    }
+
+    public double getAverageFrameNanos() {
+        return averageFrameNanos;
+    }
+
+    // Keeps repeated steps from accumulating floating point drift
+    private static float quantize(final float value) {
+        return Math.round(value / SCALE_STEP) * SCALE_STEP;
+    }
+}
@@ -0,0 +1,273 @@
+package com.justindriggers.example.renderer.scaling;
+
+import com.justindriggers.example.renderer.VulkanResults;
+import com.justindriggers.example.renderer.descriptor.DescriptorBinding;
+import com.justindriggers.example.renderer.descriptor.DescriptorSetLayoutCache;
+import com.justindriggers.example.renderer.memory.ImageAllocation;
+import com.justindriggers.example.renderer.pipeline.GraphicsPipelineBuilder;
+import com.justindriggers.example.renderer.pipeline.RenderPasses;
+import com.justindriggers.example.renderer.resource.ResourceTracker;
+import com.justindriggers.example.renderer.uniform.PushConstantBlock;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.vulkan.VkCommandBuffer;
+import org.lwjgl.vulkan.VkDescriptorImageInfo;
+import org.lwjgl.vulkan.VkDevice;
+import org.lwjgl.vulkan.VkPipelineLayoutCreateInfo;
+import org.lwjgl.vulkan.VkPushConstantRange;
+import org.lwjgl.vulkan.VkSamplerCreateInfo;
+import org.lwjgl.vulkan.VkWriteDescriptorSet;
+
+import java.io.Closeable;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.lwjgl.vulkan.VK10.VK_ACCESS_SHADER_READ_BIT;
+import static org.lwjgl.vulkan.VK10.VK_BORDER_COLOR_FLOAT_OPAQUE_BLACK;
+import static org.lwjgl.vulkan.VK10.VK_DESCRIPTOR_TYPE_COMBINED_IMAGE_SAMPLER;
+import static org.lwjgl.vulkan.VK10.VK_FILTER_LINEAR;
+import static org.lwjgl.vulkan.VK10.VK_FORMAT_R8G8B8A8_UNORM;
+import static org.lwjgl.vulkan.VK10.VK_IMAGE_LAYOUT_SHADER_READ_ONLY_OPTIMAL;
+import static org.lwjgl.vulkan.VK10.VK_IMAGE_USAGE_COLOR_ATTACHMENT_BIT;
+import static org.lwjgl.vulkan.VK10.VK_IMAGE_USAGE_SAMPLED_BIT;
+import static org.lwjgl.vulkan.VK10.VK_NULL_HANDLE;
+import static org.lwjgl.vulkan.VK10.VK_PIPELINE_BIND_POINT_GRAPHICS;
+import static org.lwjgl.vulkan.VK10.VK_PIPELINE_STAGE_FRAGMENT_SHADER_BIT;
+import static org.lwjgl.vulkan.VK10.VK_SAMPLER_ADDRESS_MODE_CLAMP_TO_EDGE;
+import static org.lwjgl.vulkan.VK10.VK_SAMPLER_MIPMAP_MODE_NEAREST;
+import static org.lwjgl.vulkan.VK10.VK_SHADER_STAGE_FRAGMENT_BIT;
+import static org.lwjgl.vulkan.VK10.VK_STRUCTURE_TYPE_PIPELINE_LAYOUT_CREATE_INFO;
+import static org.lwjgl.vulkan.VK10.VK_STRUCTURE_TYPE_SAMPLER_CREATE_INFO;
+import static org.lwjgl.vulkan.VK10.VK_STRUCTURE_TYPE_WRITE_DESCRIPTOR_SET;
+import static org.lwjgl.vulkan.VK10.vkCmdBindDescriptorSets;
+import static org.lwjgl.vulkan.VK10.vkCmdBindPipeline;
+import static org.lwjgl.vulkan.VK10.vkCmdDraw;
+import static org.lwjgl.vulkan.VK10.vkCmdEndRenderPass;
+import static org.lwjgl.vulkan.VK10.vkCmdPushConstants;
+import static org.lwjgl.vulkan.VK10.vkCreatePipelineLayout;
+import static org.lwjgl.vulkan.VK10.vkCreateSampler;
+import static org.lwjgl.vulkan.VK10.vkDestroyFramebuffer;
+import static org.lwjgl.vulkan.VK10.vkDestroyPipeline;
+import static org.lwjgl.vulkan.VK10.vkDestroyPipelineLayout;
+import static org.lwjgl.vulkan.VK10.vkDestroyRenderPass;
+import static org.lwjgl.vulkan.VK10.vkDestroySampler;
+import static org.lwjgl.vulkan.VK10.vkUpdateDescriptorSets;
+
+// The scene is rendered into the top-left corner of an offscreen image at the scaled resolution, then stretched over
+// the whole swapchain image with a bilinear fullscreen pass. The swapchain itself always matches the window, so scaling
+// works whatever extents the surface allows, and changing the scale never rebuilds anything.
+// Matches fullscreen.vert and upscale.frag: set 0 binding 0 samples the scene, and the fragment push constants map the
+// viewport onto its rendered part.
+public class UpscalePass implements Closeable {
+
+    public static final String VERTEX_SHADER = "fullscreen.vert.spv";
+    public static final String FRAGMENT_SHADER = "upscale.frag.spv";
+
+    public static final List<DescriptorBinding> DESCRIPTOR_BINDINGS = Collections.singletonList(
+            new DescriptorBinding(0, VK_DESCRIPTOR_TYPE_COMBINED_IMAGE_SAMPLER, 1, VK_SHADER_STAGE_FRAGMENT_BIT)
+    );
+
+    // The resource tracker types created and disposed by each resize
+    public static final List<String> RESOURCE_TYPES = Collections.unmodifiableList(
+            Arrays.asList("ImageAllocation", "VkFramebuffer"));
+
+    // R8G8B8A8_UNORM is required to support both color attachment and linear filtering with optimal tiling
+    private static final int SCENE_FORMAT = VK_FORMAT_R8G8B8A8_UNORM;
+    private static final int PUSH_CONSTANT_SIZE = 4 * Float.BYTES;
+
+    private final VkDevice device;
+    private final ResourceTracker resourceTracker;
+    private final long sceneRenderPass;
+    private final long sampler;
+    private final long descriptorSetLayout;
+    private final long pipelineLayout;
+    private final PushConstantBlock pushConstants = new PushConstantBlock(PUSH_CONSTANT_SIZE);
+
+    private long pipeline = VK_NULL_HANDLE;
+
+    private ImageAllocation sceneImage;
+    private long sceneFramebuffer = VK_NULL_HANDLE;
+    private int sceneWidth;
+    private int sceneHeight;
+
+    public UpscalePass(final VkDevice device, final DescriptorSetLayoutCache descriptorSetLayoutCache,
+                       final ResourceTracker resourceTracker) {
+        this.device = device;
+        this.resourceTracker = resourceTracker;
+
+        sceneRenderPass = resourceTracker.trackHandle("VkRenderPass", RenderPasses.createColorPass(device,
+                SCENE_FORMAT, VK_IMAGE_LAYOUT_SHADER_READ_ONLY_OPTIMAL, VK_PIPELINE_STAGE_FRAGMENT_SHADER_BIT,
+                VK_ACCESS_SHADER_READ_BIT));
+
+        sampler = resourceTracker.trackHandle("VkSampler", createSampler(device));
+        descriptorSetLayout = descriptorSetLayoutCache.getOrCreate(DESCRIPTOR_BINDINGS);
+        pipelineLayout = resourceTracker.trackHandle("VkPipelineLayout", createPipelineLayout(device,
+                descriptorSetLayout));
+    }
+
+    // Scene pipelines have to be built against this pass instead of the swapchain's
+    public long getSceneRenderPass() {
+        return sceneRenderPass;
+    }
+
+    public long getDescriptorSetLayout() {
+        return descriptorSetLayout;
+    }
+
+    // Waits on the shaders loading, so it's separate from construction
+    public void createPipeline(final long vertexShader, final long fragmentShader, final long swapchainRenderPass) {
+        pipeline = resourceTracker.trackHandle("VkPipeline", new GraphicsPipelineBuilder()
+                .shaders(vertexShader, fragmentShader)
+                .blending(false)
+                .build(device, swapchainRenderPass, pipelineLayout));
+    }
+
+    // The scene image matches the swapchain, so full scale is a 1:1 copy. Only call once the GPU is idle.
+    public void resize(final int width, final int height) {
+        destroySceneTarget();
+
+        sceneImage = new ImageAllocation(device, width, height, SCENE_FORMAT,
+                VK_IMAGE_USAGE_COLOR_ATTACHMENT_BIT | VK_IMAGE_USAGE_SAMPLED_BIT);
+        resourceTracker.track(sceneImage, sceneImage.getAllocationSize());
+
+        sceneFramebuffer = resourceTracker.trackHandle("VkFramebuffer",
+                RenderPasses.createFramebuffer(device, sceneRenderPass, sceneImage.getImageView(), width, height));
+
+        sceneWidth = width;
+        sceneHeight = height;
+    }
+
+    // Begins the scene pass and sets the viewport for drawing at the scaled resolution
+    public void recordBeginScene(final VkCommandBuffer commandBuffer, final int scaledWidth, final int scaledHeight) {
+        RenderPasses.recordBegin(commandBuffer, sceneRenderPass, sceneFramebuffer, scaledWidth, scaledHeight);
+        GraphicsPipelineBuilder.recordViewport(commandBuffer, scaledWidth, scaledHeight);
+    }
+
+    public void recordEndScene(final VkCommandBuffer commandBuffer) {
+        vkCmdEndRenderPass(commandBuffer);
+    }
+
+    // The set is written every frame, since the scene image is replaced whenever the swapchain is rebuilt
+    public void writeDescriptorSet(final long descriptorSet) {
+        try (final MemoryStack stack = MemoryStack.stackPush()) {
+            final VkDescriptorImageInfo.Buffer imageInfos = VkDescriptorImageInfo.callocStack(1, stack);
+
+            imageInfos.get(0)
+                    .sampler(sampler)
+                    .imageView(sceneImage.getImageView())
+                    .imageLayout(VK_IMAGE_LAYOUT_SHADER_READ_ONLY_OPTIMAL);
+
+            final VkWriteDescriptorSet.Buffer descriptorWrites = VkWriteDescriptorSet.callocStack(1, stack);
+
+            descriptorWrites.get(0)
+                    .sType(VK_STRUCTURE_TYPE_WRITE_DESCRIPTOR_SET)
+                    .dstSet(descriptorSet)
+                    .dstBinding(0)
+                    .descriptorType(VK_DESCRIPTOR_TYPE_COMBINED_IMAGE_SAMPLER)
+                    .pImageInfo(imageInfos);
+
+            vkUpdateDescriptorSets(device, descriptorWrites, null);
+        }
+    }
+
+    // Records inside the swapchain render pass. The half texel clamp keeps bilinear filtering from blending in the
+    // stale texels beyond the scaled region.
+    public void recordUpscale(final VkCommandBuffer commandBuffer, final long descriptorSet,
+                              final int scaledWidth, final int scaledHeight) {
+        pushConstants.putFloat(0, scaledWidth / (float) sceneWidth)
+                .putFloat(4, scaledHeight / (float) sceneHeight)
+                .putFloat(8, (scaledWidth - 0.5f) / sceneWidth)
+                .putFloat(12, (scaledHeight - 0.5f) / sceneHeight);
+
+        try (final MemoryStack stack = MemoryStack.stackPush()) {
+            GraphicsPipelineBuilder.recordViewport(commandBuffer, sceneWidth, sceneHeight);
+
+            vkCmdBindPipeline(commandBuffer, VK_PIPELINE_BIND_POINT_GRAPHICS, pipeline);
+            vkCmdBindDescriptorSets(commandBuffer, VK_PIPELINE_BIND_POINT_GRAPHICS, pipelineLayout, 0,
+                    stack.longs(descriptorSet), null);
+            vkCmdPushConstants(commandBuffer, pipelineLayout, VK_SHADER_STAGE_FRAGMENT_BIT, 0, pushConstants.getData());
+            vkCmdDraw(commandBuffer, 3, 1, 0, 0);
+        }
+    }
+
+    @Override
+    public void close() {
+        destroySceneTarget();
+
+        if (pipeline != VK_NULL_HANDLE) {
+            vkDestroyPipeline(device, pipeline, null);
+            resourceTracker.releaseHandle("VkPipeline", pipeline);
+        }
+
+        vkDestroyPipelineLayout(device, pipelineLayout, null);
+        resourceTracker.releaseHandle("VkPipelineLayout", pipelineLayout);
+
+        vkDestroySampler(device, sampler, null);
+        resourceTracker.releaseHandle("VkSampler", sampler);
+
+        vkDestroyRenderPass(device, sceneRenderPass, null);
+        resourceTracker.releaseHandle("VkRenderPass", sceneRenderPass);
+    }
+
+    private void destroySceneTarget() {
+        if (sceneFramebuffer != VK_NULL_HANDLE) {
+            vkDestroyFramebuffer(device, sceneFramebuffer, null);
+            resourceTracker.releaseHandle("VkFramebuffer", sceneFramebuffer);
+            sceneFramebuffer = VK_NULL_HANDLE;
+        }
+
+        Optional.ofNullable(sceneImage)
+                .ifPresent(resourceTracker::dispose);
+
+        sceneImage = null;
+    }
+
+    private static long createSampler(final VkDevice device) {
+        try (final MemoryStack stack = MemoryStack.stackPush()) {
+            final VkSamplerCreateInfo createInfo = VkSamplerCreateInfo.callocStack(stack)
+                    .sType(VK_STRUCTURE_TYPE_SAMPLER_CREATE_INFO)
+                    .magFilter(VK_FILTER_LINEAR)
+                    .minFilter(VK_FILTER_LINEAR)
+                    .mipmapMode(VK_SAMPLER_MIPMAP_MODE_NEAREST)
+                    .addressModeU(VK_SAMPLER_ADDRESS_MODE_CLAMP_TO_EDGE)
+                    .addressModeV(VK_SAMPLER_ADDRESS_MODE_CLAMP_TO_EDGE)
+                    .addressModeW(VK_SAMPLER_ADDRESS_MODE_CLAMP_TO_EDGE)
+                    .anisotropyEnable(false)
+                    .maxAnisotropy(1.0f)
+                    .compareEnable(false)
+                    .minLod(0.0f)
+                    .maxLod(0.0f)
+                    .borderColor(VK_BORDER_COLOR_FLOAT_OPAQUE_BLACK)
+                    .unnormalizedCoordinates(false);
+
+            final LongBuffer pSampler = stack.mallocLong(1);
+            VulkanResults.check(vkCreateSampler(device, createInfo, null, pSampler), "create sampler");
+
+            return pSampler.get(0);
+        }
+    }
+
+    private static long createPipelineLayout(final VkDevice device, final long descriptorSetLayout) {
+        try (final MemoryStack stack = MemoryStack.stackPush()) {
+            final VkPushConstantRange.Buffer pushConstantRanges = VkPushConstantRange.callocStack(1, stack);
+
+            pushConstantRanges.get(0)
+                    .stageFlags(VK_SHADER_STAGE_FRAGMENT_BIT)
+                    .offset(0)
+                    .size(PUSH_CONSTANT_SIZE);
+
+            final VkPipelineLayoutCreateInfo createInfo = VkPipelineLayoutCreateInfo.callocStack(stack)
+                    .sType(VK_STRUCTURE_TYPE_PIPELINE_LAYOUT_CREATE_INFO)
+                    .pSetLayouts(stack.longs(descriptorSetLayout))
+                    .pPushConstantRanges(pushConstantRanges);
+
+            final LongBuffer pPipelineLayout = stack.mallocLong(1);
+            VulkanResults.check(vkCreatePipelineLayout(device, createInfo, null, pPipelineLayout),
+                    "create pipeline layout");
+
+            return pPipelineLayout.get(0);
+        }
+    }
+}
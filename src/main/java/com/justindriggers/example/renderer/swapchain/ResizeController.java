@@ -0,0 +1,89 @@
+package com.justindriggers.example.renderer.swapchain;
+
+import java.util.concurrent.TimeUnit;
+
+public class ResizeController {
+
+    private static final long DEFAULT_DEBOUNCE_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long DEFAULT_MAX_LATENCY_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+
+    private final long debounceNanos;
+    private final long maxLatencyNanos;
+
+    private boolean isPending;
+    private boolean isOutOfDate;
+    private boolean isPaused;
+
+    private long firstRequestNanos;
+    private long lastRequestNanos;
+
+    private long requestCount;
+    private long rebuildCount;
+
+    public ResizeController() {
+        this(DEFAULT_DEBOUNCE_NANOS, DEFAULT_MAX_LATENCY_NANOS);
+    }
+
+    public ResizeController(final long debounceNanos, final long maxLatencyNanos) {
+        this.debounceNanos = debounceNanos;
+        this.maxLatencyNanos = maxLatencyNanos;
+    }
+
+    public synchronized void onResize(final int width, final int height) {
+        // A minimized window reports a 0x0 framebuffer, which no swapchain can be created for
+        isPaused = width == 0 || height == 0;
+
+        markPending(System.nanoTime());
+    }
+
+    // The current swapchain can still be presented to, so keep doing that until the size settles
+    public synchronized void requestRefresh() {
+        markPending(System.nanoTime());
+    }
+
+    // The current swapchain can no longer be presented to, so it is rebuilt before the next frame without waiting for
+    // size events to settle
+    public synchronized void onOutOfDate() {
+        isOutOfDate = true;
+
+        markPending(System.nanoTime());
+    }
+
+    public synchronized boolean isPaused() {
+        return isPaused;
+    }
+
+    // Size events within the debounce window are coalesced into a single rebuild, but a continuous drag still
+    // rebuilds at least once per max latency period so the image doesn't stay stretched indefinitely
+    public synchronized boolean shouldRebuild(final long nowNanos) {
+        final boolean result = isPending && !isPaused
+                && (isOutOfDate || nowNanos - lastRequestNanos >= debounceNanos
+                        || nowNanos - firstRequestNanos >= maxLatencyNanos);
+
+        if (result) {
+            isPending = false;
+            isOutOfDate = false;
+            rebuildCount++;
+        }
+
+        return result;
+    }
+
+    public synchronized long getRebuildCount() {
+        return rebuildCount;
+    }
+
+    public synchronized long getAvoidedRebuildCount() {
+        return requestCount - rebuildCount - (isPending ? 1 : 0);
+    }
+
+    private void markPending(final long nowNanos) {
+        if (!isPending) {
+            isPending = true;
+            firstRequestNanos = nowNanos;
+        }
+
+        lastRequestNanos = nowNanos;
+        requestCount++;
+    }
+}
@@ -1,24 +1,30 @@
 package com.justindriggers.example.renderer.swapchain;
 
-import com.justindriggers.example.renderer.device.PhysicalDeviceMetadata;
-import com.justindriggers.vulkan.command.CommandBuffer;
-import com.justindriggers.vulkan.devices.logical.LogicalDevice;
-import com.justindriggers.vulkan.pipeline.shader.ShaderModule;
-import com.justindriggers.vulkan.surface.Surface;
+import com.justindriggers.vulkan.models.Extent2D;
+import com.justindriggers.vulkan.swapchain.Framebuffer;
+import com.justindriggers.vulkan.swapchain.RenderPass;
 import com.justindriggers.vulkan.swapchain.Swapchain;
 
 import java.io.Closeable;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 public interface SwapchainManager extends Closeable {
 
-    void refresh(final Surface surface,
-                 final PhysicalDeviceMetadata physicalDeviceMetadata,
-                 final LogicalDevice device,
-                 final ShaderModule vertexShader,
-                 final ShaderModule fragmentShader);
+    // The resource tracker types created and disposed by each refresh
+    List<String> RESOURCE_TYPES = Collections.unmodifiableList(Arrays.asList("Swapchain", "ImageView", "Framebuffer"));
+
+    // Created once for the chosen surface format, so pipelines built against it outlive any one swapchain
+    RenderPass getRenderPass();
+
+    // The window extent is only used when the surface leaves the swapchain extent up to the application
+    void refresh(final Extent2D windowExtent);
 
     Swapchain getCurrentSwapchain();
 
-    List<CommandBuffer> getCurrentCommandBuffers();
+    Extent2D getCurrentExtent();
+
+    // One per swapchain image, in image index order
+    List<Framebuffer> getCurrentFramebuffers();
 }
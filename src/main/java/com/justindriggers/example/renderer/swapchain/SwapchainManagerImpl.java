@@ -1,13 +1,9 @@
 package com.justindriggers.example.renderer.swapchain;
 
 import com.justindriggers.example.renderer.device.PhysicalDeviceMetadata;
-import com.justindriggers.vulkan.command.CommandBuffer;
-import com.justindriggers.vulkan.command.CommandPool;
-import com.justindriggers.vulkan.command.commands.BeginRenderPassCommand;
-import com.justindriggers.vulkan.command.commands.BindPipelineCommand;
-import com.justindriggers.vulkan.command.commands.DrawCommand;
-import com.justindriggers.vulkan.command.commands.EndRenderPassCommand;
-import com.justindriggers.vulkan.command.models.CommandBufferLevel;
+import com.justindriggers.example.renderer.resource.ResourceTracker;
+import com.justindriggers.example.trace.TraceEventType;
+import com.justindriggers.example.trace.Tracer;
 import com.justindriggers.vulkan.devices.logical.LogicalDevice;
 import com.justindriggers.vulkan.devices.physical.PhysicalDevice;
 import com.justindriggers.vulkan.image.Image;
@@ -19,34 +15,9 @@ import com.justindriggers.vulkan.models.Access;
 import com.justindriggers.vulkan.models.ColorSpace;
 import com.justindriggers.vulkan.models.Extent2D;
 import com.justindriggers.vulkan.models.Format;
-import com.justindriggers.vulkan.models.Offset2D;
-import com.justindriggers.vulkan.models.Rect2D;
 import com.justindriggers.vulkan.models.SampleCount;
-import com.justindriggers.vulkan.models.clear.ClearColorFloat;
-import com.justindriggers.vulkan.models.clear.ClearValue;
-import com.justindriggers.vulkan.models.pointers.Disposable;
-import com.justindriggers.vulkan.pipeline.GraphicsPipeline;
-import com.justindriggers.vulkan.pipeline.PipelineLayout;
 import com.justindriggers.vulkan.pipeline.models.PipelineBindPoint;
 import com.justindriggers.vulkan.pipeline.models.PipelineStage;
-import com.justindriggers.vulkan.pipeline.models.assembly.InputAssemblyState;
-import com.justindriggers.vulkan.pipeline.models.assembly.PrimitiveTopology;
-import com.justindriggers.vulkan.pipeline.models.colorblend.BlendFactor;
-import com.justindriggers.vulkan.pipeline.models.colorblend.BlendOperation;
-import com.justindriggers.vulkan.pipeline.models.colorblend.ColorBlendAttachmentState;
-import com.justindriggers.vulkan.pipeline.models.colorblend.ColorBlendState;
-import com.justindriggers.vulkan.pipeline.models.colorblend.ColorComponent;
-import com.justindriggers.vulkan.pipeline.models.multisample.MultisampleState;
-import com.justindriggers.vulkan.pipeline.models.rasterization.CullMode;
-import com.justindriggers.vulkan.pipeline.models.rasterization.FrontFace;
-import com.justindriggers.vulkan.pipeline.models.rasterization.PolygonMode;
-import com.justindriggers.vulkan.pipeline.models.rasterization.RasterizationState;
-import com.justindriggers.vulkan.pipeline.models.vertex.VertexInputState;
-import com.justindriggers.vulkan.pipeline.models.viewport.Viewport;
-import com.justindriggers.vulkan.pipeline.models.viewport.ViewportState;
-import com.justindriggers.vulkan.pipeline.shader.ShaderModule;
-import com.justindriggers.vulkan.pipeline.shader.ShaderStage;
-import com.justindriggers.vulkan.pipeline.shader.ShaderStageType;
 import com.justindriggers.vulkan.queue.QueueFamily;
 import com.justindriggers.vulkan.surface.Surface;
 import com.justindriggers.vulkan.surface.models.PresentMode;
@@ -59,40 +30,65 @@ import com.justindriggers.vulkan.swapchain.models.AttachmentLoadOperation;
 import com.justindriggers.vulkan.swapchain.models.AttachmentStoreOperation;
 import com.justindriggers.vulkan.swapchain.models.ColorAttachment;
 import com.justindriggers.vulkan.swapchain.models.Subpass;
-import com.justindriggers.vulkan.swapchain.models.SubpassContents;
 import com.justindriggers.vulkan.swapchain.models.SubpassDependency;
 
 import java.io.Closeable;
 import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 public class SwapchainManagerImpl implements SwapchainManager {
 
-    private final CommandPool commandPool;
+    private static final int UNDEFINED_EXTENT = 0xFFFFFFFF;
+
+    // Matches each component's bit width in an uncompressed format name, e.g. the 8s in B8G8R8A8_UNORM
+    private static final Pattern COMPONENT_BITS = Pattern.compile("[RGBAX](\\d+)");
+
+    private final Surface surface;
+    private final PhysicalDeviceMetadata physicalDeviceMetadata;
+    private final LogicalDevice device;
+    private final ResourceTracker resourceTracker;
+
+    private final SurfaceFormat surfaceFormat;
+    private final RenderPass renderPass;
 
     private SwapchainContainer currentSwapchainContainer;
 
-    public SwapchainManagerImpl(final CommandPool commandPool) {
-        this.commandPool = commandPool;
+    public SwapchainManagerImpl(final Surface surface,
+                                final PhysicalDeviceMetadata physicalDeviceMetadata,
+                                final LogicalDevice device,
+                                final ResourceTracker resourceTracker) {
+        this.surface = surface;
+        this.physicalDeviceMetadata = physicalDeviceMetadata;
+        this.device = device;
+        this.resourceTracker = resourceTracker;
+
+        surfaceFormat = getBestSurfaceFormat(surface.getFormats(physicalDeviceMetadata.getPhysicalDevice()));
+        renderPass = resourceTracker.track(createRenderPass(device, surfaceFormat.getFormat()));
+    }
+
+    @Override
+    public RenderPass getRenderPass() {
+        return renderPass;
     }
 
     @Override
-    public void refresh(final Surface surface,
-                        final PhysicalDeviceMetadata physicalDeviceMetadata,
-                        final LogicalDevice device,
-                        final ShaderModule vertexShader,
-                        final ShaderModule fragmentShader) {
+    public void refresh(final Extent2D windowExtent) {
+        final long refreshStart = Tracer.begin(TraceEventType.SWAPCHAIN_REFRESH);
+
         Optional.ofNullable(currentSwapchainContainer)
                 .ifPresent(SwapchainContainer::close);
 
-        currentSwapchainContainer = new SwapchainContainer(surface, physicalDeviceMetadata, device,
-                vertexShader, fragmentShader);
+        currentSwapchainContainer = new SwapchainContainer(windowExtent);
+
+        final Extent2D imageExtent = currentSwapchainContainer.getImageExtent();
+
+        Tracer.end(TraceEventType.SWAPCHAIN_REFRESH, refreshStart, imageExtent.getWidth(), imageExtent.getHeight());
     }
 
     @Override
@@ -103,9 +99,16 @@ public class SwapchainManagerImpl implements SwapchainManager {
     }
 
     @Override
-    public List<CommandBuffer> getCurrentCommandBuffers() {
+    public Extent2D getCurrentExtent() {
+        return Optional.ofNullable(currentSwapchainContainer)
+                .map(SwapchainContainer::getImageExtent)
+                .orElseThrow(() -> new IllegalStateException("Swapchain has not been created"));
+    }
+
+    @Override
+    public List<Framebuffer> getCurrentFramebuffers() {
         return Optional.ofNullable(currentSwapchainContainer)
-                .map(SwapchainContainer::getCommandBuffers)
+                .map(SwapchainContainer::getFramebuffers)
                 .orElseThrow(() -> new IllegalStateException("Swapchain has not been created"));
     }
 
@@ -113,25 +116,75 @@ public class SwapchainManagerImpl implements SwapchainManager {
     public void close() {
         Optional.ofNullable(currentSwapchainContainer)
                 .ifPresent(SwapchainContainer::close);
+
+        resourceTracker.dispose(renderPass);
+    }
+
+    private static RenderPass createRenderPass(final LogicalDevice device, final Format format) {
+        final List<ColorAttachment> colorAttachments = Collections.singletonList(
+                new ColorAttachment(format, Collections.singleton(SampleCount.ONE),
+                        AttachmentLoadOperation.CLEAR, AttachmentStoreOperation.STORE,
+                        AttachmentLoadOperation.DONT_CARE, AttachmentStoreOperation.DONT_CARE,
+                        ImageLayout.UNDEFINED, ImageLayout.PRESENT_SRC)
+        );
+
+        final List<Subpass> subpasses = Collections.singletonList(
+                new Subpass(PipelineBindPoint.GRAPHICS, colorAttachments, null)
+        );
+
+        final List<SubpassDependency> subpassDependencies = Collections.singletonList(
+                new SubpassDependency(-1, 0,
+                        Collections.singleton(PipelineStage.COLOR_ATTACHMENT_OUTPUT), Collections.singleton(PipelineStage.COLOR_ATTACHMENT_OUTPUT),
+                        Collections.emptySet(), Stream.of(Access.COLOR_ATTACHMENT_READ, Access.COLOR_ATTACHMENT_WRITE).collect(Collectors.toSet()))
+        );
+
+        return new RenderPass(device, subpasses, subpassDependencies);
+    }
+
+    // Falls back to 4 bytes, the size of every format getBestSurfaceFormat prefers, for names without bit widths
+    private static int getBytesPerPixel(final Format format) {
+        final Matcher matcher = COMPONENT_BITS.matcher(format.name());
+
+        int bits = 0;
+
+        while (matcher.find()) {
+            bits += Integer.parseInt(matcher.group(1));
+        }
+
+        return bits > 0 ? (bits + 7) / 8 : 4;
+    }
+
+    private static SurfaceFormat getBestSurfaceFormat(final List<SurfaceFormat> surfaceFormats) {
+        final SurfaceFormat result;
+
+        if (surfaceFormats.isEmpty()) {
+            throw new IllegalStateException("Unable to find any supported formats");
+        }
+
+        if (surfaceFormats.size() == 1 && surfaceFormats.stream().findFirst()
+                .filter(format -> format.getFormat() == Format.UNDEFINED).isPresent()) {
+            result = new SurfaceFormat(Format.B8G8R8A8_UNORM, ColorSpace.SRGB_NONLINEAR);
+        } else {
+            result = surfaceFormats.stream()
+                    .filter(surfaceFormat -> Format.B8G8R8A8_UNORM.equals(surfaceFormat.getFormat())
+                            && ColorSpace.SRGB_NONLINEAR.equals(surfaceFormat.getColorSpace()))
+                    .findFirst()
+                    .orElseGet(() -> surfaceFormats.stream()
+                            .findFirst()
+                            .orElseThrow(() -> new IllegalStateException("Unable to find suitable format")));
+        }
+
+        return result;
     }
 
     private class SwapchainContainer implements Closeable {
 
         private final Swapchain swapchain;
+        private final Extent2D imageExtent;
         private final List<ImageView> swapchainImageViews;
-
-        private final RenderPass renderPass;
-        private final PipelineLayout pipelineLayout;
-        private final GraphicsPipeline graphicsPipeline;
-
         private final List<Framebuffer> framebuffers;
-        private final List<CommandBuffer> commandBuffers;
 
-        SwapchainContainer(final Surface surface,
-                           final PhysicalDeviceMetadata physicalDeviceMetadata,
-                           final LogicalDevice device,
-                           final ShaderModule vertexShader,
-                           final ShaderModule fragmentShader) {
+        SwapchainContainer(final Extent2D windowExtent) {
             final PhysicalDevice physicalDevice = physicalDeviceMetadata.getPhysicalDevice();
             final QueueFamily graphicsQueueFamily = physicalDeviceMetadata.getGraphicsQueueFamily();
             final QueueFamily presentationQueueFamily = physicalDeviceMetadata.getPresentationQueueFamily();
@@ -139,138 +192,59 @@ public class SwapchainManagerImpl implements SwapchainManager {
             final SurfaceCapabilities surfaceCapabilities = surface.getCapabilities(physicalDevice);
 
             final int imageCount = getImageCount(surfaceCapabilities);
-            final Extent2D imageExtent = surfaceCapabilities.getCurrentExtent();
-
-            final List<SurfaceFormat> surfaceFormats = surface.getFormats(physicalDevice);
-            final SurfaceFormat chosenSurfaceFormat = getBestSurfaceFormat(surfaceFormats);
+            imageExtent = getImageExtent(surfaceCapabilities, windowExtent);
 
             final Set<PresentMode> presentModes = surface.getPresentModes(physicalDevice);
             final PresentMode chosenPresentMode = getBestPresentMode(presentModes);
 
-            swapchain = new Swapchain(device, surface, imageCount, chosenSurfaceFormat.getFormat(),
-                    chosenSurfaceFormat.getColorSpace(), imageExtent, surfaceCapabilities.getCurrentTransform(),
+            swapchain = new Swapchain(device, surface, imageCount, surfaceFormat.getFormat(),
+                    surfaceFormat.getColorSpace(), imageExtent, surfaceCapabilities.getCurrentTransform(),
                     chosenPresentMode, graphicsQueueFamily, presentationQueueFamily);
 
             final List<Image> swapchainImages = Optional.ofNullable(swapchain.getImages())
                     .orElseGet(Collections::emptyList);
 
+            // The presentation engine owns the image memory, so this is the smallest it can be rather than exact
+            resourceTracker.track(swapchain, (long) imageExtent.getWidth() * imageExtent.getHeight()
+                    * getBytesPerPixel(surfaceFormat.getFormat()) * swapchainImages.size());
+
             swapchainImageViews = swapchainImages.stream()
                     .map(image -> new ImageView(device, image, ImageViewType.TWO_DIMENSIONAL,
-                            chosenSurfaceFormat.getFormat(), Collections.singleton(ImageAspect.COLOR), 1, 1))
+                            surfaceFormat.getFormat(), Collections.singleton(ImageAspect.COLOR), 1, 1))
+                    .map(resourceTracker::track)
                     .collect(Collectors.toList());
 
-            final List<ColorAttachment> colorAttachments = Collections.singletonList(
-                    new ColorAttachment(chosenSurfaceFormat.getFormat(), Collections.singleton(SampleCount.ONE),
-                            AttachmentLoadOperation.CLEAR, AttachmentStoreOperation.STORE,
-                            AttachmentLoadOperation.DONT_CARE, AttachmentStoreOperation.DONT_CARE,
-                            ImageLayout.UNDEFINED, ImageLayout.PRESENT_SRC)
-            );
-
-            final List<Subpass> subpasses = Collections.singletonList(
-                    new Subpass(PipelineBindPoint.GRAPHICS, colorAttachments, null)
-            );
-
-            final List<SubpassDependency> subpassDependencies = Collections.singletonList(
-                    new SubpassDependency(-1, 0,
-                            Collections.singleton(PipelineStage.COLOR_ATTACHMENT_OUTPUT), Collections.singleton(PipelineStage.COLOR_ATTACHMENT_OUTPUT),
-                            Collections.emptySet(), Stream.of(Access.COLOR_ATTACHMENT_READ, Access.COLOR_ATTACHMENT_WRITE).collect(Collectors.toSet()))
-            );
-
-            renderPass = new RenderPass(device, subpasses, subpassDependencies);
-            pipelineLayout = new PipelineLayout(device, null);
-
-            final List<ShaderStage> stages = Stream.of(
-                    new ShaderStage(ShaderStageType.VERTEX, vertexShader, "main"),
-                    new ShaderStage(ShaderStageType.FRAGMENT, fragmentShader, "main")
-            ).collect(Collectors.toList());
-
-            // Vertices are hardcoded within the vertex shader, so there are no bindings/locations to declare here
-            final VertexInputState vertexInputState = VertexInputState.builder().build();
-            final InputAssemblyState inputAssemblyState = new InputAssemblyState(PrimitiveTopology.TRIANGLE_LIST,
-                    false);
-
-            final List<Viewport> viewports = Collections.singletonList(
-                    new Viewport(0, 0, imageExtent.getWidth(), imageExtent.getHeight(), 0.0f, 1.0f)
-            );
-
-            final List<Rect2D> scissors = Collections.singletonList(
-                    new Rect2D(0, 0, imageExtent.getWidth(), imageExtent.getHeight())
-            );
-
-            final ViewportState viewportState = new ViewportState(viewports, scissors);
-
-            final RasterizationState rasterizationState = new RasterizationState(false, false, PolygonMode.FILL,
-                    CullMode.BACK, FrontFace.CLOCKWISE, false, 0.0f, 0.0f, 0.0f, 1.0f);
-
-            final MultisampleState multisampleState = new MultisampleState(SampleCount.ONE, false, 0.0f, false, false);
-
-            final List<ColorBlendAttachmentState> colorBlendAttachmentStates = Collections.singletonList(
-                    new ColorBlendAttachmentState(true, BlendFactor.SRC_ALPHA, BlendFactor.ONE_MINUS_SRC_ALPHA,
-                            BlendOperation.ADD, BlendFactor.ONE, BlendFactor.ZERO, BlendOperation.ADD,
-                            Stream.of(ColorComponent.R, ColorComponent.G, ColorComponent.B, ColorComponent.A).collect(Collectors.toSet()))
-            );
-
-            final ColorBlendState colorBlendState = new ColorBlendState(false, null, colorBlendAttachmentStates, null);
-
-            graphicsPipeline = new GraphicsPipeline(device, stages, vertexInputState, inputAssemblyState, viewportState,
-                    rasterizationState, multisampleState, null, colorBlendState, renderPass, pipelineLayout, 0);
-
             framebuffers = swapchainImageViews.stream()
                     .map(Collections::singletonList)
                     .map(attachments -> new Framebuffer(device, renderPass, attachments, imageExtent))
+                    .map(resourceTracker::track)
                     .collect(Collectors.toList());
-
-            commandBuffers = commandPool.createCommandBuffers(CommandBufferLevel.PRIMARY, framebuffers.size());
-
-            final Rect2D renderArea = new Rect2D(new Offset2D(0, 0), imageExtent);
-
-            final List<ClearValue> clearValues = Collections.singletonList(
-                    new ClearColorFloat(0.0f, 0.0f, 0.0f, 1.0f)
-            );
-
-            IntStream.range(0, commandBuffers.size())
-                    .forEach(i -> {
-                        final CommandBuffer commandBuffer = commandBuffers.get(i);
-                        final Framebuffer framebuffer = framebuffers.get(i);
-
-                        commandBuffer.begin();
-
-                        try {
-                            commandBuffer.submit(new BeginRenderPassCommand(SubpassContents.INLINE, renderPass,
-                                    framebuffer, renderArea, clearValues));
-                            commandBuffer.submit(new BindPipelineCommand(graphicsPipeline));
-                            commandBuffer.submit(new DrawCommand(3, 1, 0, 0));
-                            commandBuffer.submit(new EndRenderPassCommand());
-                        } finally {
-                            commandBuffer.end();
-                        }
-                    });
         }
 
         @Override
         public void close() {
-            Optional.ofNullable(commandBuffers)
-                    .ifPresent(commandPool::destroyCommandBuffers);
-
             Optional.ofNullable(framebuffers)
                     .orElseGet(Collections::emptyList)
-                    .forEach(Disposable::close);
+                    .forEach(resourceTracker::dispose);
 
             Optional.ofNullable(swapchainImageViews)
                     .orElseGet(Collections::emptyList)
-                    .forEach(Disposable::close);
+                    .forEach(resourceTracker::dispose);
 
-            Stream.of(graphicsPipeline, pipelineLayout, renderPass, swapchain)
-                    .filter(Objects::nonNull)
-                    .forEachOrdered(Disposable::close);
+            Optional.ofNullable(swapchain)
+                    .ifPresent(resourceTracker::dispose);
         }
 
         Swapchain getSwapchain() {
             return swapchain;
         }
 
-        List<CommandBuffer> getCommandBuffers() {
-            return commandBuffers;
+        List<Framebuffer> getFramebuffers() {
+            return framebuffers;
+        }
+
+        Extent2D getImageExtent() {
+            return imageExtent;
         }
 
         private int getImageCount(final SurfaceCapabilities surfaceCapabilities) {
@@ -288,29 +262,31 @@ public class SwapchainManagerImpl implements SwapchainManager {
             return result;
         }
 
-        private SurfaceFormat getBestSurfaceFormat(final List<SurfaceFormat> surfaceFormats) {
-            final SurfaceFormat result;
+        // A current extent of 0xFFFFFFFF means the surface takes its size from the swapchain, so the window decides
+        private Extent2D getImageExtent(final SurfaceCapabilities surfaceCapabilities, final Extent2D windowExtent) {
+            final Extent2D result;
 
-            if (surfaceFormats.isEmpty()) {
-                throw new IllegalStateException("Unable to find any supported formats");
-            }
+            final Extent2D currentExtent = surfaceCapabilities.getCurrentExtent();
 
-            if (surfaceFormats.size() == 1 && surfaceFormats.stream().findFirst()
-                    .filter(format -> format.getFormat() == Format.UNDEFINED).isPresent()) {
-                result = new SurfaceFormat(Format.B8G8R8A8_UNORM, ColorSpace.SRGB_NONLINEAR);
+            if (currentExtent.getWidth() != UNDEFINED_EXTENT) {
+                result = currentExtent;
             } else {
-                result = surfaceFormats.stream()
-                        .filter(surfaceFormat -> Format.B8G8R8A8_UNORM.equals(surfaceFormat.getFormat())
-                                && ColorSpace.SRGB_NONLINEAR.equals(surfaceFormat.getColorSpace()))
-                        .findFirst()
-                        .orElseGet(() -> surfaceFormats.stream()
-                                .findFirst()
-                                .orElseThrow(() -> new IllegalStateException("Unable to find suitable format")));
+                final Extent2D minImageExtent = surfaceCapabilities.getMinImageExtent();
+                final Extent2D maxImageExtent = surfaceCapabilities.getMaxImageExtent();
+
+                result = new Extent2D(
+                        clamp(windowExtent.getWidth(), minImageExtent.getWidth(), maxImageExtent.getWidth()),
+                        clamp(windowExtent.getHeight(), minImageExtent.getHeight(), maxImageExtent.getHeight())
+                );
             }
 
             return result;
         }
 
+        private int clamp(final int value, final int min, final int max) {
+            return Math.max(min, Math.min(max, value));
+        }
+
         private PresentMode getBestPresentMode(final Set<PresentMode> presentModes) {
             final PresentMode result;
 
@@ -0,0 +1,51 @@
+package com.justindriggers.example.renderer.uniform;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+public class PushConstantBlock {
+
+    // The minimum maxPushConstantsSize guaranteed by the Vulkan specification
+    public static final int MAX_SIZE = 128;
+
+    private final ByteBuffer data;
+
+    public PushConstantBlock(final int size) {
+        if (size <= 0 || size > MAX_SIZE || size % 4 != 0) {
+            throw new IllegalArgumentException(String.format("Push constant size must be a multiple of 4 no larger than %d",
+                    MAX_SIZE));
+        }
+
+        data = ByteBuffer.allocateDirect(size).order(ByteOrder.nativeOrder());
+    }
+
+    public PushConstantBlock putFloat(final int offset, final float value) {
+        data.putFloat(offset, value);
+        return this;
+    }
+
+    public PushConstantBlock putInt(final int offset, final int value) {
+        data.putInt(offset, value);
+        return this;
+    }
+
+    public PushConstantBlock putMatrix4(final int offset, final float[] columnMajor) {
+        if (columnMajor.length != 16) {
+            throw new IllegalArgumentException("A 4x4 matrix requires 16 elements");
+        }
+
+        for (int i = 0; i < columnMajor.length; i++) {
+            data.putFloat(offset + i * Float.BYTES, columnMajor[i]);
+        }
+
+        return this;
+    }
+
+    public ByteBuffer getData() {
+        return data;
+    }
+
+    public int getSize() {
+        return data.capacity();
+    }
+}
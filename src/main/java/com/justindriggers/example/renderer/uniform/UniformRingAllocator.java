@@ -0,0 +1,121 @@
+package com.justindriggers.example.renderer.uniform;
+
+import com.justindriggers.example.renderer.memory.BufferAllocation;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.vulkan.VkDevice;
+import org.lwjgl.vulkan.VkPhysicalDeviceProperties;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+
+import static org.lwjgl.vulkan.VK10.VK_BUFFER_USAGE_UNIFORM_BUFFER_BIT;
+import static org.lwjgl.vulkan.VK10.VK_MEMORY_PROPERTY_HOST_COHERENT_BIT;
+import static org.lwjgl.vulkan.VK10.VK_MEMORY_PROPERTY_HOST_VISIBLE_BIT;
+import static org.lwjgl.vulkan.VK10.vkGetPhysicalDeviceProperties;
+
+// One persistently mapped uniform buffer split into a region per in-flight frame. Offsets handed out by allocate()
+// are bound as dynamic offsets, so a single descriptor can address every region.
+public class UniformRingAllocator implements Closeable {
+
+    private final BufferAllocation allocation;
+    private final ByteBuffer buffer;
+    private final int frameSlotCount;
+    private final int frameSlotSize;
+    private final int alignment;
+
+    private int currentSlotStart;
+    private int currentSlotEnd;
+    private int cursor;
+
+    public UniformRingAllocator(final VkDevice device, final int frameSlotCount, final int frameSlotSize) {
+        this(device, frameSlotCount, frameSlotSize, getMinUniformBufferOffsetAlignment(device));
+    }
+
+    public UniformRingAllocator(final VkDevice device, final int frameSlotCount, final int frameSlotSize,
+                                final int alignment) {
+        if (frameSlotCount <= 0) {
+            throw new IllegalArgumentException("Frame slot count must be positive");
+        }
+
+        if (alignment <= 0 || Integer.bitCount(alignment) != 1) {
+            throw new IllegalArgumentException("Alignment must be a power of two");
+        }
+
+        this.frameSlotCount = frameSlotCount;
+        this.frameSlotSize = align(frameSlotSize, alignment);
+        this.alignment = alignment;
+
+        // Coherent memory means CPU writes need no explicit flush before the frame's submission
+        allocation = new BufferAllocation(device, this.frameSlotCount * this.frameSlotSize,
+                VK_BUFFER_USAGE_UNIFORM_BUFFER_BIT,
+                VK_MEMORY_PROPERTY_HOST_VISIBLE_BIT | VK_MEMORY_PROPERTY_HOST_COHERENT_BIT);
+
+        buffer = allocation.getMappedMemory();
+
+        beginFrame(0);
+    }
+
+    // Must only be called once the fence guarding the previous use of this slot has signaled
+    public void beginFrame(final int frameSlot) {
+        if (frameSlot < 0 || frameSlot >= frameSlotCount) {
+            throw new IndexOutOfBoundsException("Invalid frame slot " + frameSlot);
+        }
+
+        currentSlotStart = frameSlot * frameSlotSize;
+        currentSlotEnd = currentSlotStart + frameSlotSize;
+        cursor = currentSlotStart;
+    }
+
+    // Returns the dynamic offset of the reservation; callers write into getBuffer() with absolute puts from there
+    public int allocate(final int size) {
+        final int offset = cursor;
+        final int next = align(offset + size, alignment);
+
+        if (size < 0 || next > currentSlotEnd) {
+            throw new IllegalStateException(String.format("Uniform ring slot exhausted: requested %d bytes with %d remaining",
+                    size, currentSlotEnd - offset));
+        }
+
+        cursor = next;
+
+        return offset;
+    }
+
+    public ByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    public long getHandle() {
+        return allocation.getBuffer();
+    }
+
+    public int getFrameSlotSize() {
+        return frameSlotSize;
+    }
+
+    public int getUsedBytes() {
+        return cursor - currentSlotStart;
+    }
+
+    public long getNativeSize() {
+        return allocation.getAllocationSize();
+    }
+
+    @Override
+    public void close() {
+        allocation.close();
+    }
+
+    private static int getMinUniformBufferOffsetAlignment(final VkDevice device) {
+        try (final MemoryStack stack = MemoryStack.stackPush()) {
+            final VkPhysicalDeviceProperties properties = VkPhysicalDeviceProperties.mallocStack(stack);
+            vkGetPhysicalDeviceProperties(device.getPhysicalDevice(), properties);
+
+            return (int) properties.limits().minUniformBufferOffsetAlignment();
+        }
+    }
+
+    static int align(final int value, final int alignment) {
+        return (value + alignment - 1) & -alignment;
+    }
+}
@@ -0,0 +1,65 @@
+package com.justindriggers.example.trace;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+// Writes the JSON object format understood by chrome://tracing and Perfetto
+public class ChromeTraceExporter implements TraceExporter {
+
+    private final Path outputPath;
+
+    public ChromeTraceExporter(final Path outputPath) {
+        this.outputPath = outputPath;
+    }
+
+    @Override
+    public void export(final List<TraceEvent> events) throws IOException {
+        try (final Writer writer = new BufferedWriter(Files.newBufferedWriter(outputPath, StandardCharsets.UTF_8))) {
+            writer.write("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[");
+
+            final long origin = events.isEmpty() ? 0L : events.get(0).getStartNanos();
+
+            for (int i = 0; i < events.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+
+                writer.write(toJson(events.get(i), origin));
+            }
+
+            writer.write("]}");
+        }
+    }
+
+    private static String toJson(final TraceEvent event, final long origin) {
+        final TraceEventType type = event.getType();
+        final String timing;
+
+        if (event.isInstant()) {
+            timing = "\"ph\":\"i\",\"s\":\"t\"";
+        } else {
+            timing = String.format(Locale.ROOT, "\"ph\":\"X\",\"dur\":%.3f", event.getDurationNanos() / 1000.0);
+        }
+
+        final String secondArgument = type.isSecondArgumentStage()
+                ? '"' + TraceEventType.fromOrdinal(event.getSecondArgument()).getEventName() + '"'
+                : Integer.toString(event.getSecondArgument());
+
+        return String.format(Locale.ROOT,
+                "{\"name\":\"%s\",\"cat\":\"renderer\",%s,\"ts\":%.3f,\"pid\":1,\"tid\":%d,\"args\":{\"%s\":%d,\"%s\":%s,\"thread\":\"%s\"}}",
+                type.getEventName(), timing, (event.getStartNanos() - origin) / 1000.0, event.getThreadId(),
+                type.getFirstArgumentName(), event.getFirstArgument(),
+                type.getSecondArgumentName(), secondArgument,
+                escape(event.getThreadName()));
+    }
+
+    private static String escape(final String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
@@ -0,0 +1,56 @@
+package com.justindriggers.example.trace;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+public class Timeline {
+
+    private static final Logger LOGGER = Logger.getLogger(Timeline.class.getName());
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final String name;
+    private final long startNanos;
+
+    private final List<String> phases = new ArrayList<>();
+    private final List<Long> phaseNanos = new ArrayList<>();
+
+    private long lastMarkNanos;
+
+    public Timeline(final String name) {
+        this.name = name;
+
+        startNanos = System.nanoTime();
+        lastMarkNanos = startNanos;
+    }
+
+    // Records the time spent since the previous mark (or since construction) against the given phase
+    public void mark(final String phase) {
+        final long now = System.nanoTime();
+
+        phases.add(phase);
+        phaseNanos.add(now - lastMarkNanos);
+
+        lastMarkNanos = now;
+    }
+
+    public void report() {
+        LOGGER.log(Level.INFO, () -> String.format(Locale.ROOT, "%s timeline (%.1fms total): %s", name,
+                (lastMarkNanos - startNanos) / NANOS_PER_MILLI, formatPhases()));
+    }
+
+    private String formatPhases() {
+        final List<String> formattedPhases = new ArrayList<>(phases.size());
+
+        for (int i = 0; i < phases.size(); i++) {
+            formattedPhases.add(String.format(Locale.ROOT, "%s %.1fms", phases.get(i),
+                    phaseNanos.get(i) / NANOS_PER_MILLI));
+        }
+
+        return formattedPhases.stream().collect(Collectors.joining(", "));
+    }
+}
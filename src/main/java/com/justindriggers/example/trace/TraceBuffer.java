@@ -0,0 +1,63 @@
+package com.justindriggers.example.trace;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// Single-writer ring buffer; the owning thread records without locking while exporters read the published count
+class TraceBuffer {
+
+    private final long threadId;
+    private final String threadName;
+    private final int mask;
+
+    private final byte[] types;
+    private final long[] startNanos;
+    private final long[] durationNanos;
+    private final int[] firstArguments;
+    private final int[] secondArguments;
+
+    private final AtomicLong published = new AtomicLong(0);
+
+    TraceBuffer(final Thread owner, final int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Trace buffer capacity must be a power of two");
+        }
+
+        threadId = owner.getId();
+        threadName = owner.getName();
+        mask = capacity - 1;
+
+        types = new byte[capacity];
+        startNanos = new long[capacity];
+        durationNanos = new long[capacity];
+        firstArguments = new int[capacity];
+        secondArguments = new int[capacity];
+    }
+
+    void record(final TraceEventType type, final long start, final long duration,
+                final int firstArgument, final int secondArgument) {
+        final long index = published.get();
+        final int slot = (int) (index & mask);
+
+        types[slot] = (byte) type.ordinal();
+        startNanos[slot] = start;
+        durationNanos[slot] = duration;
+        firstArguments[slot] = firstArgument;
+        secondArguments[slot] = secondArgument;
+
+        published.lazySet(index + 1);
+    }
+
+    // Oldest events are overwritten once the buffer wraps, keeping the most recent history for post-mortems
+    void forEach(final Consumer<TraceEvent> consumer) {
+        final long end = published.get();
+        final long start = Math.max(0, end - (mask + 1));
+
+        for (long index = start; index < end; index++) {
+            final int slot = (int) (index & mask);
+
+            consumer.accept(new TraceEvent(TraceEventType.fromOrdinal(types[slot]), threadId, threadName,
+                    startNanos[slot], durationNanos[slot], firstArguments[slot], secondArguments[slot]));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.justindriggers.example.trace;
+
+public class TraceEvent {
+
+    private final TraceEventType type;
+    private final long threadId;
+    private final String threadName;
+    private final long startNanos;
+    private final long durationNanos;
+    private final int firstArgument;
+    private final int secondArgument;
+
+    TraceEvent(final TraceEventType type, final long threadId, final String threadName, final long startNanos,
+               final long durationNanos, final int firstArgument, final int secondArgument) {
+        this.type = type;
+        this.threadId = threadId;
+        this.threadName = threadName;
+        this.startNanos = startNanos;
+        this.durationNanos = durationNanos;
+        this.firstArgument = firstArgument;
+        this.secondArgument = secondArgument;
+    }
+
+    public TraceEventType getType() {
+        return type;
+    }
+
+    public long getThreadId() {
+        return threadId;
+    }
+
+    public String getThreadName() {
+        return threadName;
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public boolean isInstant() {
+        return durationNanos < 0;
+    }
+
+    public int getFirstArgument() {
+        return firstArgument;
+    }
+
+    public int getSecondArgument() {
+        return secondArgument;
+    }
+}
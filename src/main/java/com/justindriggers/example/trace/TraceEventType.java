@@ -0,0 +1,54 @@
+package com.justindriggers.example.trace;
+
+public enum TraceEventType {
+
+    FRAME("frame", "frameSlot", "imageIndex"),
+    FENCE_WAIT("fenceWait", "frameSlot", "imageIndex"),
+    ACQUIRE("acquire", "frameSlot", "imageIndex"),
+    SUBMIT("submit", "frameSlot", "imageIndex"),
+    PRESENT("present", "frameSlot", "imageIndex"),
+    SWAPCHAIN_REFRESH("swapchainRefresh", "width", "height"),
+    RESIZE("resize", "width", "height"),
+    OUT_OF_DATE("outOfDate", "frameSlot", "stage", true),
+    SUBOPTIMAL("suboptimal", "frameSlot", "stage", true);
+
+    private static final TraceEventType[] VALUES = values();
+
+    private final String eventName;
+    private final String firstArgumentName;
+    private final String secondArgumentName;
+    private final boolean secondArgumentStage;
+
+    TraceEventType(final String eventName, final String firstArgumentName, final String secondArgumentName) {
+        this(eventName, firstArgumentName, secondArgumentName, false);
+    }
+
+    TraceEventType(final String eventName, final String firstArgumentName, final String secondArgumentName,
+                   final boolean secondArgumentStage) {
+        this.eventName = eventName;
+        this.firstArgumentName = firstArgumentName;
+        this.secondArgumentName = secondArgumentName;
+        this.secondArgumentStage = secondArgumentStage;
+    }
+
+    static TraceEventType fromOrdinal(final int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    public String getEventName() {
+        return eventName;
+    }
+
+    public String getFirstArgumentName() {
+        return firstArgumentName;
+    }
+
+    public String getSecondArgumentName() {
+        return secondArgumentName;
+    }
+
+    // Swapchain errors record the stage they were raised in by ordinal, which exporters resolve back to its name
+    public boolean isSecondArgumentStage() {
+        return secondArgumentStage;
+    }
+}
@@ -0,0 +1,9 @@
+package com.justindriggers.example.trace;
+
+import java.io.IOException;
+import java.util.List;
+
+public interface TraceExporter {
+
+    void export(final List<TraceEvent> events) throws IOException;
+}
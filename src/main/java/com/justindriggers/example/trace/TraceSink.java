@@ -0,0 +1,12 @@
+package com.justindriggers.example.trace;
+
+// Receives spans and instants as they happen, alongside the per-thread buffers. Spans end in the reverse order they
+// began on each thread.
+interface TraceSink {
+
+    void begin(final TraceEventType type);
+
+    void end(final TraceEventType type, final int firstArgument, final int secondArgument);
+
+    void instant(final TraceEventType type, final int firstArgument, final int secondArgument);
+}
@@ -0,0 +1,108 @@
+package com.justindriggers.example.trace;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public final class Tracer {
+
+    private static final Logger LOGGER = Logger.getLogger(Tracer.class.getName());
+
+    // Read once at class initialization so the JIT can fold every disabled call site away
+    public static final boolean ENABLED = Boolean.getBoolean("example.trace");
+
+    // Compiled from src/jfr/java only when the building JDK provides jdk.jfr, so it's loaded reflectively
+    private static final String JFR_SINK_CLASS_NAME = "com.justindriggers.example.trace.JfrTraceSink";
+
+    private static final int BUFFER_CAPACITY = Integer.highestOneBit(
+            Math.max(1, Integer.getInteger("example.trace.bufferSize", 1 << 16)));
+
+    private static final TraceSink SINK = ENABLED ? loadSink(System.getProperty("example.trace.format")) : null;
+
+    private static final Queue<TraceBuffer> BUFFERS = new ConcurrentLinkedQueue<>();
+
+    private static final ThreadLocal<TraceBuffer> CURRENT_BUFFER = ThreadLocal.withInitial(() -> {
+        final TraceBuffer buffer = new TraceBuffer(Thread.currentThread(), BUFFER_CAPACITY);
+        BUFFERS.add(buffer);
+        return buffer;
+    });
+
+    private Tracer() {
+    }
+
+    // Whether events are being streamed as they happen, in which case there's nothing left to export on exit
+    public static boolean isStreaming() {
+        return SINK != null;
+    }
+
+    public static long begin(final TraceEventType type) {
+        long result = 0L;
+
+        if (ENABLED) {
+            if (SINK != null) {
+                SINK.begin(type);
+            }
+
+            result = System.nanoTime();
+        }
+
+        return result;
+    }
+
+    public static void end(final TraceEventType type, final long start) {
+        end(type, start, 0, 0);
+    }
+
+    public static void end(final TraceEventType type, final long start,
+                           final int firstArgument, final int secondArgument) {
+        if (ENABLED) {
+            CURRENT_BUFFER.get().record(type, start, System.nanoTime() - start, firstArgument, secondArgument);
+
+            if (SINK != null) {
+                SINK.end(type, firstArgument, secondArgument);
+            }
+        }
+    }
+
+    public static void instant(final TraceEventType type, final int firstArgument, final int secondArgument) {
+        if (ENABLED) {
+            CURRENT_BUFFER.get().record(type, System.nanoTime(), -1L, firstArgument, secondArgument);
+
+            if (SINK != null) {
+                SINK.instant(type, firstArgument, secondArgument);
+            }
+        }
+    }
+
+    public static void instant(final TraceEventType type, final int firstArgument, final TraceEventType stage) {
+        instant(type, firstArgument, stage.ordinal());
+    }
+
+    public static List<TraceEvent> snapshot() {
+        final List<TraceEvent> result = new ArrayList<>();
+
+        BUFFERS.forEach(buffer -> buffer.forEach(result::add));
+        result.sort(Comparator.comparingLong(TraceEvent::getStartNanos));
+
+        return result;
+    }
+
+    private static TraceSink loadSink(final String format) {
+        TraceSink result = null;
+
+        if ("jfr".equalsIgnoreCase(format)) {
+            try {
+                result = (TraceSink) Class.forName(JFR_SINK_CLASS_NAME).getDeclaredConstructor().newInstance();
+            } catch (final ReflectiveOperationException | LinkageError e) {
+                LOGGER.log(Level.WARNING, "Java Flight Recorder events are unavailable on this JVM, "
+                        + "falling back to the Chrome trace export", e);
+            }
+        }
+
+        return result;
+    }
+}
@@ -1,13 +1,17 @@
 package com.justindriggers.example.window;
 
+import com.justindriggers.example.config.DebugConfiguration;
 import com.justindriggers.example.renderer.Renderer;
 import com.justindriggers.example.renderer.VulkanRenderer;
+import com.justindriggers.example.renderer.compute.ComputeWorkload;
+import com.justindriggers.example.renderer.compute.ParticleWorkload;
+import com.justindriggers.example.trace.Timeline;
+import com.justindriggers.example.trace.TraceEventType;
+import com.justindriggers.example.trace.Tracer;
 import com.justindriggers.glfw.GLFWInstance;
 import com.justindriggers.vulkan.instance.DebugLogger;
 import com.justindriggers.vulkan.instance.VulkanInstance;
 import com.justindriggers.vulkan.instance.models.ApplicationInfo;
-import com.justindriggers.vulkan.instance.models.MessageSeverity;
-import com.justindriggers.vulkan.instance.models.MessageType;
 import com.justindriggers.vulkan.instance.models.VulkanVersion;
 import com.justindriggers.vulkan.surface.Surface;
 import org.lwjgl.glfw.GLFW;
@@ -17,7 +21,7 @@ import org.lwjgl.glfw.GLFWKeyCallback;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.EnumSet;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -36,29 +40,13 @@ import static org.lwjgl.glfw.GLFW.glfwSetKeyCallback;
 import static org.lwjgl.glfw.GLFW.glfwSetWindowShouldClose;
 import static org.lwjgl.glfw.GLFW.glfwShowWindow;
 import static org.lwjgl.glfw.GLFW.glfwTerminate;
+import static org.lwjgl.glfw.GLFW.glfwWaitEvents;
 import static org.lwjgl.glfw.GLFW.glfwWindowHint;
 import static org.lwjgl.glfw.GLFW.glfwWindowShouldClose;
 import static org.lwjgl.system.MemoryUtil.NULL;
-import static org.lwjgl.vulkan.EXTDebugUtils.VK_EXT_DEBUG_UTILS_EXTENSION_NAME;
 
 public class GLFWWindow implements Window {
 
-    private static final Set<MessageSeverity> MESSAGE_SEVERITIES = Stream.of(
-            MessageSeverity.VERBOSE,
-            MessageSeverity.INFO,
-            MessageSeverity.WARNING,
-            MessageSeverity.ERROR
-    ).collect(Collectors.toCollection(() -> EnumSet.noneOf(MessageSeverity.class)));
-
-    private static final Set<MessageType> MESSAGE_TYPES = Stream.of(
-            MessageType.GENERAL,
-            MessageType.PERFORMANCE,
-            MessageType.VALIDATION
-    ).collect(Collectors.toCollection(() -> EnumSet.noneOf(MessageType.class)));
-
-    private static final Set<String> VALIDATION_LAYERS = Collections.singleton("VK_LAYER_LUNARG_standard_validation");
-    private static final Set<String> INSTANCE_EXTENSIONS = Collections.singleton(VK_EXT_DEBUG_UTILS_EXTENSION_NAME);
-
     private static final int WIDTH = 800;
     private static final int HEIGHT = 600;
 
@@ -73,8 +61,12 @@ public class GLFWWindow implements Window {
     private int currentHeight;
 
     public GLFWWindow() {
+        final Timeline startupTimeline = new Timeline("Startup");
+
         final GLFWInstance glfwInstance = new GLFWInstance();
 
+        startupTimeline.mark("GLFW init");
+
         glfwDefaultWindowHints();
         glfwWindowHint(GLFW_VISIBLE, GLFW_FALSE);
         glfwWindowHint(GLFW_CLIENT_API, GLFW.GLFW_NO_API);
@@ -90,20 +82,37 @@ public class GLFWWindow implements Window {
         currentWidth = WIDTH;
         currentHeight = HEIGHT;
 
+        startupTimeline.mark("window");
+
+        final DebugConfiguration debugConfiguration = DebugConfiguration.fromSystemProperties();
+
         final Set<String> instanceExtensions = Stream.of(
                 glfwInstance.getRequiredVulkanInstanceExtensions(),
-                INSTANCE_EXTENSIONS
+                debugConfiguration.getInstanceExtensions()
         ).flatMap(Collection::stream).collect(Collectors.toSet());
 
-        vulkanInstance = new VulkanInstance(applicationInfo, instanceExtensions, VALIDATION_LAYERS);
+        vulkanInstance = new VulkanInstance(applicationInfo, instanceExtensions,
+                debugConfiguration.getValidationLayers());
+
+        startupTimeline.mark("instance");
+
+        if (debugConfiguration.isDebugMessengerEnabled()) {
+            vulkanInstance.enableDebugging(debugConfiguration.getMessageSeverities(),
+                    debugConfiguration.getMessageTypes(), new DebugLogger());
 
-        if (!MESSAGE_SEVERITIES.isEmpty() && !MESSAGE_TYPES.isEmpty()) {
-            vulkanInstance.enableDebugging(MESSAGE_SEVERITIES, MESSAGE_TYPES, new DebugLogger());
+            startupTimeline.mark("debug messenger");
         }
 
         surface = glfwInstance.createWindowSurface(vulkanInstance, windowHandle);
 
-        renderer = new VulkanRenderer(vulkanInstance, surface);
+        startupTimeline.mark("surface");
+
+        final List<ComputeWorkload> computeWorkloads = ParticleWorkload.fromSystemProperties()
+                .<List<ComputeWorkload>>map(Collections::singletonList)
+                .orElseGet(Collections::emptyList);
+
+        // The renderer marks its own phases on the timeline and reports it once the first frame is presented
+        renderer = new VulkanRenderer(vulkanInstance, surface, WIDTH, HEIGHT, computeWorkloads, startupTimeline);
 
         keyCallback = new GLFWKeyCallback() {
             @Override
@@ -120,10 +129,12 @@ public class GLFWWindow implements Window {
             @Override
             public void invoke(final long window, final int width, final int height) {
                 if (windowHandle == window) {
+                    Tracer.instant(TraceEventType.RESIZE, width, height);
+
                     currentWidth = width;
                     currentHeight = height;
 
-                    renderer.refresh();
+                    renderer.resize(width, height);
                 }
             }
         };
@@ -133,9 +144,14 @@ public class GLFWWindow implements Window {
         glfwShowWindow(windowHandle);
 
         while (!glfwWindowShouldClose(windowHandle)) {
-            glfwPollEvents();
+            if (currentWidth == 0 || currentHeight == 0) {
+                // Minimized, so block until the window is restored rather than spinning on empty frames
+                glfwWaitEvents();
+            } else {
+                glfwPollEvents();
 
-            renderer.renderFrame();
+                renderer.renderFrame();
+            }
         }
     }
 
@@ -156,15 +172,24 @@ public class GLFWWindow implements Window {
 
     @Override
     public void close() throws IOException {
+        final Timeline shutdownTimeline = new Timeline("Shutdown");
+
         renderer.close();
 
+        shutdownTimeline.mark("renderer");
+
         framebufferSizeCallback.free();
         keyCallback.free();
 
         surface.close();
         vulkanInstance.close();
 
+        shutdownTimeline.mark("instance");
+
         glfwDestroyWindow(windowHandle);
         glfwTerminate();
+
+        shutdownTimeline.mark("GLFW terminate");
+        shutdownTimeline.report();
     }
 }
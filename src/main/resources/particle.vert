@@ -0,0 +1,19 @@
+#version 450
+#extension GL_ARB_separate_shader_objects : enable
+
+layout(location = 0) in vec2 inPosition;
+layout(location = 1) in vec2 inVelocity;
+
+out gl_PerVertex {
+    vec4 gl_Position;
+    float gl_PointSize;
+};
+
+layout(location = 0) out vec3 fragColor;
+
+// Points larger than one pixel need the largePoints feature, so speed is shown by color instead
+void main() {
+    gl_Position = vec4(inPosition, 0.0, 1.0);
+    gl_PointSize = 1.0;
+    fragColor = vec3(0.3 + abs(inVelocity) * 1.4, 1.0);
+}
@@ -5,6 +5,14 @@ out gl_PerVertex {
     vec4 gl_Position;
 };
 
+layout(set = 0, binding = 0) uniform FrameUniforms {
+    mat4 projection;
+} frame;
+
+layout(push_constant) uniform DrawConstants {
+    mat4 model;
+} draw;
+
 layout(location = 0) out vec3 fragColor;
 
 // Vertex positions, clockwise, with y-axis pointing down
@@ -22,6 +30,6 @@ vec3 colors[3] = vec3[](
 );
 
 void main() {
-    gl_Position = vec4(positions[gl_VertexIndex], 0.0, 1.0);
+    gl_Position = frame.projection * draw.model * vec4(positions[gl_VertexIndex], 0.0, 1.0);
     fragColor = colors[gl_VertexIndex];
 }
\ No newline at end of file
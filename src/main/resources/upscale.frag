@@ -0,0 +1,19 @@
+#version 450
+#extension GL_ARB_separate_shader_objects : enable
+
+layout(set = 0, binding = 0) uniform sampler2D scene;
+
+// uvScale maps the viewport onto the rendered part of the scene image, and uvMax stops linear filtering from reaching
+// past its last rendered texel
+layout(push_constant) uniform UpscaleConstants {
+    vec2 uvScale;
+    vec2 uvMax;
+} upscale;
+
+layout(location = 0) in vec2 uv;
+
+layout(location = 0) out vec4 outColor;
+
+void main() {
+    outColor = texture(scene, min(uv * upscale.uvScale, upscale.uvMax));
+}
@@ -0,0 +1,101 @@
+package com.justindriggers.example.renderer.resource;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ResourceTrackerTest {
+
+    private static final Logger LOGGER = Logger.getLogger(ResourceTracker.class.getName());
+
+    private final List<LogRecord> warnings = new ArrayList<>();
+
+    private final Handler handler = new Handler() {
+        @Override
+        public void publish(final LogRecord record) {
+            if (record.getLevel().intValue() >= Level.WARNING.intValue()) {
+                warnings.add(record);
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    @Before
+    public void addHandler() {
+        LOGGER.addHandler(handler);
+    }
+
+    @After
+    public void removeHandler() {
+        LOGGER.removeHandler(handler);
+    }
+
+    @Test
+    public void countsLiveResourcesByType() {
+        final ResourceTracker resourceTracker = new ResourceTracker(false);
+        final Object resource = new Object();
+
+        resourceTracker.track(resource);
+        resourceTracker.trackHandle("VkPipeline", 1L);
+        resourceTracker.trackHandle("VkPipeline", 2L);
+
+        assertEquals(3, resourceTracker.getLiveCount());
+        assertEquals(Integer.valueOf(2), resourceTracker.getLiveCountsByType().get("VkPipeline"));
+
+        resourceTracker.release(resource);
+        resourceTracker.releaseHandle("VkPipeline", 1L);
+        resourceTracker.releaseHandle("VkPipeline", 2L);
+
+        assertEquals(0, resourceTracker.getLiveCount());
+        assertTrue(warnings.isEmpty());
+    }
+
+    @Test
+    public void checkpointWarnsOnlyWhenWatchedTypesGrow() {
+        final ResourceTracker resourceTracker = new ResourceTracker(false);
+
+        resourceTracker.trackHandle("VkFramebuffer", 1L);
+        resourceTracker.checkpoint("refresh", Collections.singleton("VkFramebuffer"));
+
+        // Replaced one for one, like a swapchain refresh, plus an unwatched type appearing
+        resourceTracker.releaseHandle("VkFramebuffer", 1L);
+        resourceTracker.trackHandle("VkFramebuffer", 2L);
+        resourceTracker.trackHandle("VkShaderModule", 3L);
+        resourceTracker.checkpoint("refresh", Collections.singleton("VkFramebuffer"));
+
+        assertTrue(warnings.isEmpty());
+
+        resourceTracker.trackHandle("VkFramebuffer", 4L);
+        resourceTracker.checkpoint("refresh", Arrays.asList("VkFramebuffer", "VkImageView"));
+
+        assertEquals(1, warnings.size());
+    }
+
+    @Test
+    public void warnsWhenReleasingUntrackedHandle() {
+        final ResourceTracker resourceTracker = new ResourceTracker(false);
+
+        resourceTracker.releaseHandle("VkPipeline", 1L);
+
+        assertEquals(1, warnings.size());
+    }
+}
@@ -0,0 +1,61 @@
+package com.justindriggers.example.renderer.scaling;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ResolutionScaleControllerTest {
+
+    private static final long TARGET_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final int COOLDOWN_FRAMES = 30;
+    private static final float DELTA = 1e-6f;
+
+    @Test
+    public void lowersScaleOnceCooldownElapses() {
+        final ResolutionScaleController controller = new ResolutionScaleController(TARGET_NANOS, 0.5f, 1.0f, 0.1f);
+
+        for (int i = 0; i < COOLDOWN_FRAMES; i++) {
+            assertFalse(controller.update(TARGET_NANOS * 2));
+        }
+
+        assertTrue(controller.update(TARGET_NANOS * 2));
+        assertEquals(0.95f, controller.getScale(), DELTA);
+    }
+
+    @Test
+    public void holdsScaleWithinHysteresis() {
+        final ResolutionScaleController controller = new ResolutionScaleController(TARGET_NANOS, 0.5f, 1.0f, 0.1f);
+
+        for (int i = 0; i < COOLDOWN_FRAMES * 4; i++) {
+            assertFalse(controller.update(TARGET_NANOS + TARGET_NANOS / 20));
+        }
+
+        assertEquals(1.0f, controller.getScale(), DELTA);
+    }
+
+    @Test
+    public void clampsToScaleRange() {
+        final ResolutionScaleController controller = new ResolutionScaleController(TARGET_NANOS, 0.5f, 1.0f, 0.1f);
+
+        for (int i = 0; i < COOLDOWN_FRAMES * 40; i++) {
+            controller.update(TARGET_NANOS * 4);
+        }
+
+        assertEquals(0.5f, controller.getScale(), DELTA);
+
+        for (int i = 0; i < COOLDOWN_FRAMES * 400; i++) {
+            controller.update(TARGET_NANOS / 4);
+        }
+
+        assertEquals(1.0f, controller.getScale(), DELTA);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsInvertedScaleRange() {
+        new ResolutionScaleController(TARGET_NANOS, 1.0f, 0.5f, 0.1f);
+    }
+}
@@ -0,0 +1,82 @@
+package com.justindriggers.example.renderer.swapchain;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ResizeControllerTest {
+
+    private static final long SHORT_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long LONG_NANOS = TimeUnit.HOURS.toNanos(1);
+
+    @Test
+    public void coalescesResizesWithinDebounceWindow() {
+        final ResizeController resizeController = new ResizeController(SHORT_NANOS, LONG_NANOS);
+
+        final long before = System.nanoTime();
+        resizeController.onResize(800, 600);
+        resizeController.onResize(810, 600);
+        resizeController.onResize(820, 600);
+        final long after = System.nanoTime();
+
+        assertFalse(resizeController.shouldRebuild(before));
+        assertTrue(resizeController.shouldRebuild(after + SHORT_NANOS));
+        assertFalse(resizeController.shouldRebuild(after + SHORT_NANOS));
+
+        assertEquals(1, resizeController.getRebuildCount());
+        assertEquals(2, resizeController.getAvoidedRebuildCount());
+    }
+
+    @Test
+    public void rebuildsAfterMaxLatencyDuringContinuousResize() {
+        final ResizeController resizeController = new ResizeController(LONG_NANOS, SHORT_NANOS);
+
+        final long before = System.nanoTime();
+        resizeController.onResize(800, 600);
+        resizeController.onResize(810, 600);
+        final long after = System.nanoTime();
+
+        assertFalse(resizeController.shouldRebuild(before));
+        assertTrue(resizeController.shouldRebuild(after + SHORT_NANOS));
+    }
+
+    @Test
+    public void rebuildsOutOfDateWithoutDebounce() {
+        final ResizeController resizeController = new ResizeController(LONG_NANOS, LONG_NANOS);
+
+        final long before = System.nanoTime();
+        resizeController.onOutOfDate();
+
+        assertTrue(resizeController.shouldRebuild(before));
+        assertFalse(resizeController.shouldRebuild(before));
+    }
+
+    @Test
+    public void waitsWhileMinimized() {
+        final ResizeController resizeController = new ResizeController(SHORT_NANOS, SHORT_NANOS);
+
+        resizeController.onResize(0, 0);
+        final long minimized = System.nanoTime();
+
+        assertTrue(resizeController.isPaused());
+        assertFalse(resizeController.shouldRebuild(minimized + LONG_NANOS));
+
+        resizeController.onResize(800, 600);
+        final long restored = System.nanoTime();
+
+        assertFalse(resizeController.isPaused());
+        assertTrue(resizeController.shouldRebuild(restored + SHORT_NANOS));
+    }
+
+    @Test
+    public void doesNotRebuildWithoutRequest() {
+        final ResizeController resizeController = new ResizeController(SHORT_NANOS, SHORT_NANOS);
+
+        assertFalse(resizeController.shouldRebuild(System.nanoTime() + LONG_NANOS));
+        assertEquals(0, resizeController.getRebuildCount());
+    }
+}
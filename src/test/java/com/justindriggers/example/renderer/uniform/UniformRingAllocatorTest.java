@@ -0,0 +1,28 @@
+package com.justindriggers.example.renderer.uniform;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class UniformRingAllocatorTest {
+
+    @Test
+    public void alignLeavesAlignedValuesUnchanged() {
+        assertEquals(0, UniformRingAllocator.align(0, 256));
+        assertEquals(256, UniformRingAllocator.align(256, 256));
+        assertEquals(1024, UniformRingAllocator.align(1024, 256));
+    }
+
+    @Test
+    public void alignRoundsUpToNextMultiple() {
+        assertEquals(256, UniformRingAllocator.align(1, 256));
+        assertEquals(256, UniformRingAllocator.align(255, 256));
+        assertEquals(512, UniformRingAllocator.align(257, 256));
+        assertEquals(80, UniformRingAllocator.align(68, 16));
+    }
+
+    @Test
+    public void alignToOneIsIdentity() {
+        assertEquals(67, UniformRingAllocator.align(67, 1));
+    }
+}
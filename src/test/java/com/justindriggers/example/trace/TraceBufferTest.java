@@ -0,0 +1,50 @@
+package com.justindriggers.example.trace;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class TraceBufferTest {
+
+    @Test
+    public void keepsEveryEventBeforeWrapping() {
+        final TraceBuffer traceBuffer = new TraceBuffer(Thread.currentThread(), 4);
+
+        traceBuffer.record(TraceEventType.FRAME, 10L, 1L, 0, 0);
+        traceBuffer.record(TraceEventType.PRESENT, 20L, 1L, 1, 0);
+
+        final List<TraceEvent> events = new ArrayList<>();
+        traceBuffer.forEach(events::add);
+
+        assertEquals(2, events.size());
+        assertEquals(TraceEventType.FRAME, events.get(0).getType());
+        assertEquals(TraceEventType.PRESENT, events.get(1).getType());
+    }
+
+    @Test
+    public void keepsMostRecentEventsOldestFirstAfterWrapping() {
+        final TraceBuffer traceBuffer = new TraceBuffer(Thread.currentThread(), 4);
+
+        for (int i = 0; i < 10; i++) {
+            traceBuffer.record(TraceEventType.FRAME, i, 1L, i, 0);
+        }
+
+        final List<TraceEvent> events = new ArrayList<>();
+        traceBuffer.forEach(events::add);
+
+        assertEquals(4, events.size());
+
+        for (int i = 0; i < events.size(); i++) {
+            assertEquals(6 + i, events.get(i).getFirstArgument());
+            assertEquals(6L + i, events.get(i).getStartNanos());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsCapacityThatIsNotPowerOfTwo() {
+        new TraceBuffer(Thread.currentThread(), 3);
+    }
+}